@@ -97,6 +97,16 @@ import { FormsModule } from '@angular/forms'; // Import FormsModule
         <div class="flex w-full justify-center py-4">
           <app-spinner />
         </div>
+        } @else if (nextCursor()) {
+        <div class="flex w-full justify-center pt-4">
+          <button
+            (click)="fetchTodos(nextCursor()!)"
+            [disabled]="isLoading()"
+            class="rounded-lg px-4 py-2 font-medium text-indigo-600 hover:bg-indigo-50 disabled:opacity-50"
+          >
+            Load more
+          </button>
+        </div>
         }
       </div>
     </div>
@@ -107,6 +117,7 @@ export class DashboardComponent implements OnInit {
   private todoService = inject(TodoService);
 
   todos = signal<Todo[]>([]);
+  nextCursor = signal<string | null>(null);
   isLoading = signal(false);
   currentAction = signal<'load' | 'add' | 'update' | 'delete' | null>(null);
   currentActionId = signal<string | null>(null); // Track which todo is being acted upon
@@ -117,20 +128,21 @@ export class DashboardComponent implements OnInit {
     this.fetchTodos();
   }
 
-  fetchTodos() {
+  fetchTodos(cursor?: string) {
     this.isLoading.set(true);
     this.currentAction.set('load');
     this.currentActionId.set(null);
     this.todoService
-      .getTodos()
+      .getTodos(cursor)
       .pipe(
         finalize(() => {
           this.isLoading.set(false);
           this.currentAction.set(null);
         })
       )
-      .subscribe((data) => {
-        this.todos.set(data);
+      .subscribe((page) => {
+        this.todos.update((current) => (cursor ? [...current, ...page.items] : page.items));
+        this.nextCursor.set(page.nextCursor);
       });
   }
 
@@ -150,7 +162,10 @@ export class DashboardComponent implements OnInit {
         })
       )
       .subscribe((newTodo) => {
-        this.todos.update((current) => [...current, newTodo]);
+        // Newest todos sort last; while more pages remain it arrives with the last one
+        if (!this.nextCursor()) {
+          this.todos.update((current) => [...current, newTodo]);
+        }
         this.newTask = '';
       });
   }
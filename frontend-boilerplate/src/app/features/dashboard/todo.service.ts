@@ -1,7 +1,7 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { environment } from '../../../environments/environment.development';
-import type { Todo } from '../../shared/models/todo.model';
+import type { Todo, TodoPage } from '../../shared/models/todo.model';
 import { Observable } from 'rxjs';
 
 @Injectable({
@@ -11,8 +11,10 @@ export class TodoService {
   private http = inject(HttpClient);
   private apiUrl = `${environment.apiUrl}/todos`;
 
-  getTodos(): Observable<Todo[]> {
-    return this.http.get<Todo[]>(this.apiUrl);
+  // Pass the previous page's nextCursor to get the following page
+  getTodos(cursor?: string): Observable<TodoPage> {
+    const params = cursor ? new HttpParams().set('cursor', cursor) : undefined;
+    return this.http.get<TodoPage>(this.apiUrl, { params });
   }
 
   addTodo(task: string): Observable<Todo> {
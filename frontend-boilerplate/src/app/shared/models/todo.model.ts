@@ -2,4 +2,10 @@ export interface Todo {
   id: string;
   task: string;
   completed: boolean;
-}
\ No newline at end of file
+  createdAt: string;
+}
+
+export interface TodoPage {
+  items: Todo[];
+  nextCursor: string | null;
+}
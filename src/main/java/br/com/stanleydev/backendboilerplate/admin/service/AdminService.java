@@ -3,11 +3,13 @@ package br.com.stanleydev.backendboilerplate.admin.service;
 import br.com.stanleydev.backendboilerplate.admin.dto.AdminUpdateUserRequest;
 import br.com.stanleydev.backendboilerplate.exception.EmailAlreadyExistsException;
 import br.com.stanleydev.backendboilerplate.exception.ResourceNotFoundException;
+import br.com.stanleydev.backendboilerplate.security.TokenVersionRegistry;
 import br.com.stanleydev.backendboilerplate.user.dto.UserResponse;
 import br.com.stanleydev.backendboilerplate.user.model.User;
 import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
 import br.com.stanleydev.backendboilerplate.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,8 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final UserService userService; // We reuse the DTO mapper
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserCache principalCache;
 
 
     @Transactional(readOnly = true)
@@ -43,11 +47,15 @@ public class AdminService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
+        boolean credentialsChanged = false;
+        String previousEmail = user.getEmail();
+
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
             if (userRepository.findByEmail(request.getEmail()).isPresent()) {
                 throw new EmailAlreadyExistsException("Email already taken");
             }
             user.setEmail(request.getEmail());
+            credentialsChanged = true;
         }
 
         if (request.getFirstName() != null) {
@@ -56,20 +64,29 @@ public class AdminService {
         if (request.getLastName() != null) {
             user.setLastName(request.getLastName());
         }
-        if (request.getRole() != null) {
+        if (request.getRole() != null && request.getRole() != user.getRole()) {
             user.setRole(request.getRole());
+            credentialsChanged = true;
+        }
+
+        // Existing access tokens still carry the old email or role
+        if (credentialsChanged) {
+            tokenVersionRegistry.revoke(user);
         }
 
         User updatedUser = userRepository.save(user);
+        principalCache.removeUserFromCache(previousEmail);
+        principalCache.removeUserFromCache(updatedUser.getEmail());
         return userService.mapToUserResponse(updatedUser);
     }
 
 
     @Transactional
     public void deleteUser(UUID id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        userRepository.delete(user);
+        tokenVersionRegistry.revokeAll(id);
+        principalCache.removeUserFromCache(user.getEmail());
     }
 }
\ No newline at end of file
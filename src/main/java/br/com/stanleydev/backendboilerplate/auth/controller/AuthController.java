@@ -2,8 +2,8 @@ package br.com.stanleydev.backendboilerplate.auth.controller;
 
 import br.com.stanleydev.backendboilerplate.auth.dto.*;
 import br.com.stanleydev.backendboilerplate.auth.service.AuthService;
-import br.com.stanleydev.backendboilerplate.exception.TooManyRequestsException;
-import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import br.com.stanleydev.backendboilerplate.ratelimit.AuthRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,30 +17,37 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
-            @Valid @RequestBody RegisterRequest request
+            @Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest
     ) {
+        authRateLimiter.check("register", httpRequest.getRemoteAddr(), request.getEmail());
         AuthResponse response = authService.register(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
-            @Valid @RequestBody LoginRequest request
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest
     ) {
+        authRateLimiter.check("login", httpRequest.getRemoteAddr(), request.getEmail());
         return ResponseEntity.ok(authService.login(request));
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request, HttpServletRequest httpRequest) {
+        authRateLimiter.check("refresh", httpRequest.getRemoteAddr(), null);
         return ResponseEntity.ok(authService.refreshToken(request));
     }
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<Void> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+    public ResponseEntity<Void> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request, HttpServletRequest httpRequest) {
+        authRateLimiter.check("forgot-password", httpRequest.getRemoteAddr(), request.getEmail());
         authService.handleForgotPassword(request);
 
         return ResponseEntity.ok().build();
@@ -48,13 +55,9 @@ public class AuthController {
 
 
     @PostMapping("/reset-password")
-    public ResponseEntity<Void> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+    public ResponseEntity<Void> resetPassword(@Valid @RequestBody ResetPasswordRequest request, HttpServletRequest httpRequest) {
+        authRateLimiter.check("reset-password", httpRequest.getRemoteAddr(), null);
         authService.handleResetPassword(request);
         return ResponseEntity.ok().build();
     }
-
-
-    public String rateLimitedFallback(String input, RequestNotPermitted ex) {
-        throw new TooManyRequestsException("Rate limit exceeded");
-    }
 }
\ No newline at end of file
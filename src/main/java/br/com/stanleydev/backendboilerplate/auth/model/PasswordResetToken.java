@@ -0,0 +1,49 @@
+package br.com.stanleydev.backendboilerplate.auth.model;
+
+import br.com.stanleydev.backendboilerplate.persistence.GeneratedUuidV7;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outstanding password-reset request. Only the SHA-256 of the emailed token is stored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "password_reset_tokens", indexes = {
+        @Index(name = "idx_password_reset_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_password_reset_tokens_expires_at", columnList = "expires_at")
+})
+public class PasswordResetToken {
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+}
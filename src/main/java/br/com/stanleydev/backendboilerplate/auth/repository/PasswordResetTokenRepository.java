@@ -0,0 +1,31 @@
+package br.com.stanleydev.backendboilerplate.auth.repository;
+
+import br.com.stanleydev.backendboilerplate.auth.model.PasswordResetToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, UUID> {
+
+    @Query("SELECT t FROM PasswordResetToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<PasswordResetToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.userId = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    // Deletes at most batchSize expired rows in its own transaction
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN " +
+            "(SELECT id FROM password_reset_tokens WHERE expires_at < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
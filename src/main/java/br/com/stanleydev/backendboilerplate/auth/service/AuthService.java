@@ -1,15 +1,15 @@
 package br.com.stanleydev.backendboilerplate.auth.service;
 
 import br.com.stanleydev.backendboilerplate.auth.dto.*;
+import br.com.stanleydev.backendboilerplate.auth.model.RefreshToken;
 import br.com.stanleydev.backendboilerplate.exception.EmailAlreadyExistsException;
-import br.com.stanleydev.backendboilerplate.exception.ResourceNotFoundException;
 import br.com.stanleydev.backendboilerplate.organization.model.Membership;
 import br.com.stanleydev.backendboilerplate.organization.model.Organization;
 import br.com.stanleydev.backendboilerplate.organization.model.OrganizationRole;
 import br.com.stanleydev.backendboilerplate.organization.repository.MembershipRepository;
 import br.com.stanleydev.backendboilerplate.organization.repository.OrganizationRepository;
 import br.com.stanleydev.backendboilerplate.security.JwtService;
-import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.security.TokenVersionRegistry;
 import br.com.stanleydev.backendboilerplate.user.model.Role;
 import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
 import br.com.stanleydev.backendboilerplate.user.model.User;
@@ -17,16 +17,16 @@ import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
 import br.com.stanleydev.backendboilerplate.email.EmailService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -44,15 +44,14 @@ public class AuthService {
     private final EmailService emailService;
     private final OrganizationRepository organizationRepository;
     private final MembershipRepository membershipRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserCache principalCache;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordResetTokenService passwordResetTokenService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
-
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new EmailAlreadyExistsException("Email already taken");
-        }
-
-
+        // No pre-select: the unique constraint on users.email rejects a taken address when the inserts are flushed
 
         User user = User.builder()
                 .firstName(request.getFirstName())
@@ -81,12 +80,15 @@ public class AuthService {
         membershipRepository.save(membership);
 
         String accessToken = jwtService.generateAccessToken(savedUser, newTenantId);
-        String refreshToken = jwtService.generateRefreshToken(savedUser);
-
-        savedUser.setRefreshToken(refreshToken);
-        savedUser.setRefreshTokenExpiry(jwtService.getRefreshTokenExpiry());
-        userRepository.save(savedUser);
+        String refreshToken = refreshTokenService.issue(savedUser, newTenantId);
 
+        // IDs are generated client-side, so nothing has hit the database yet: all inserts go out in this one flush
+        try {
+            userRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Every other row uses fresh random keys, so the email is the only constraint that can collide
+            throw new EmailAlreadyExistsException("Email already taken");
+        }
 
         return AuthResponse.builder()
                 .token(accessToken)
@@ -96,37 +98,23 @@ public class AuthService {
 
     @Transactional
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
+        // The authenticated principal is the user loaded for the password check, so it is not read again
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword()
                 )
         );
+        User user = (User) authentication.getPrincipal();
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found after authentication"));
-
-
-        List<Membership> memberships = membershipRepository.findByUserId(user.getId());
-        if (memberships.isEmpty()) {
-
-            log.error("User {} authenticated but has no organization memberships.", user.getEmail());
-            throw new IllegalStateException("User has no organization membership.");
-        }
-
-
-        Membership firstMembership = memberships.get(0);
-        Organization organization = organizationRepository.findById(firstMembership.getOrganizationId())
-                .orElseThrow(() -> new IllegalStateException("Organization not found for membership."));
-
+        String tenantId = membershipRepository.findPrimaryTenantIdByUserId(user.getId())
+                .orElseThrow(() -> {
+                    log.error("User {} authenticated but has no organization memberships.", user.getEmail());
+                    return new IllegalStateException("User has no organization membership.");
+                });
 
-        String accessToken = jwtService.generateAccessToken(user, organization.getTenantId());
-        String refreshToken = jwtService.generateRefreshToken(user);
-
-
-        user.setRefreshToken(refreshToken);
-        user.setRefreshTokenExpiry(jwtService.getRefreshTokenExpiry());
-        userRepository.save(user);
+        String accessToken = jwtService.generateAccessToken(user, tenantId);
+        String refreshToken = refreshTokenService.issue(user, tenantId);
 
         return AuthResponse.builder()
                 .token(accessToken)
@@ -136,32 +124,18 @@ public class AuthService {
 
     @Transactional
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        String requestRefreshToken = request.getRefreshToken();
-
-        User user = userRepository.findByRefreshToken(requestRefreshToken)
-                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
-
-        if (user.getRefreshTokenExpiry().isBefore(Instant.now())) {
-            user.setRefreshToken(null); // Clear expired token
-            user.setRefreshTokenExpiry(null);
-            userRepository.save(user);
-            throw new BadCredentialsException("Refresh token has expired");
-        }
-
-        String currentTenantId = TenantContext.getCurrentTenant();
-        if (currentTenantId == null) {
-            log.warn("Cannot refresh token for user {} without tenantId in context.", user.getEmail());
-            throw new BadCredentialsException("Cannot determine tenant context for refresh.");
+        RefreshToken currentToken = refreshTokenService.consume(request.getRefreshToken());
+        User user = currentToken.getUser();
+
+        // /api/auth/refresh is unauthenticated, so the session's stored tenant is the only source
+        String tenantId = currentToken.getTenantId();
+        if (tenantId == null) {
+            log.warn("Cannot refresh token for user {}: the session has no tenantId.", user.getEmail());
+            throw new BadCredentialsException("Cannot determine tenant for refresh.");
         }
 
-
-        String newAccessToken = jwtService.generateAccessToken(user, currentTenantId);
-
-
-        String newRefreshToken = jwtService.generateRefreshToken(user);
-        user.setRefreshToken(newRefreshToken);
-        user.setRefreshTokenExpiry(jwtService.getRefreshTokenExpiry());
-        userRepository.save(user);
+        String newAccessToken = jwtService.generateAccessToken(user, tenantId);
+        String newRefreshToken = refreshTokenService.issue(user, tenantId);
 
         return AuthResponse.builder()
                 .token(newAccessToken)
@@ -175,34 +149,24 @@ public class AuthService {
 
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            String token = UUID.randomUUID().toString();
+            String token = passwordResetTokenService.issue(user);
 
-            user.setPasswordResetToken(token);
-            user.setPasswordResetTokenExpiry(Instant.now().plus(1, ChronoUnit.HOURS));
-            userRepository.save(user);
-
-            log.info("Password reset token for {}: {}", user.getEmail(), token);
+            log.info("Password reset requested for {}", user.getEmail());
             emailService.sendPasswordResetEmail(user.getEmail(), token);
         }
     }
 
     @Transactional
     public void handleResetPassword(ResetPasswordRequest request) {
-        User user = userRepository.findByPasswordResetToken(request.getToken())
-                .orElseThrow(() -> new BadCredentialsException("Invalid password reset token"));
-
-        if (user.getPasswordResetTokenExpiry().isBefore(Instant.now())) {
-            throw new BadCredentialsException("Password reset token has expired");
-        }
+        User user = passwordResetTokenService.consume(request.getToken());
 
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
-        user.setPasswordResetToken(null);
-        user.setPasswordResetTokenExpiry(null);
 
-        user.setRefreshToken(null);
-        user.setRefreshTokenExpiry(null);
+        refreshTokenService.revokeAll(user.getId());
+        tokenVersionRegistry.revoke(user);
 
         userRepository.save(user);
+        principalCache.removeUserFromCache(user.getEmail());
     }
 
 }
\ No newline at end of file
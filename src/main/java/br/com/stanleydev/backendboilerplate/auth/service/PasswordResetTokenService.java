@@ -0,0 +1,80 @@
+package br.com.stanleydev.backendboilerplate.auth.service;
+
+import br.com.stanleydev.backendboilerplate.auth.model.PasswordResetToken;
+import br.com.stanleydev.backendboilerplate.auth.repository.PasswordResetTokenRepository;
+import br.com.stanleydev.backendboilerplate.security.OpaqueTokens;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class PasswordResetTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordResetTokenService.class);
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Value("${application.auth.password-reset.expiration-ms:3600000}")
+    private long expirationMs;
+
+    @Value("${application.auth.password-reset.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    /** Replaces any outstanding reset request of the user and returns the raw token to email. */
+    @Transactional
+    public String issue(User user) {
+        passwordResetTokenRepository.deleteAllByUserId(user.getId());
+
+        String rawToken = OpaqueTokens.generate();
+        Instant now = Instant.now();
+        passwordResetTokenRepository.save(PasswordResetToken.builder()
+                .tokenHash(OpaqueTokens.hash(rawToken))
+                .userId(user.getId())
+                .createdAt(now)
+                .expiresAt(now.plusMillis(expirationMs))
+                .build());
+
+        return rawToken;
+    }
+
+    /** Validates the token and removes every reset request of its user; returns that user. */
+    @Transactional
+    public User consume(String rawToken) {
+        PasswordResetToken resetToken = passwordResetTokenRepository.findByTokenHashWithUser(OpaqueTokens.hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid password reset token"));
+
+        if (resetToken.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Password reset token has expired");
+        }
+
+        passwordResetTokenRepository.deleteAllByUserId(resetToken.getUserId());
+        return resetToken.getUser();
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.auth.password-reset.purge-interval-ms:3600000}",
+            fixedDelayString = "${application.auth.password-reset.purge-interval-ms:3600000}"
+    )
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = passwordResetTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired password reset tokens", purged);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.stanleydev.backendboilerplate.auth.service;
+
+import br.com.stanleydev.backendboilerplate.auth.model.RefreshToken;
+import br.com.stanleydev.backendboilerplate.auth.repository.RefreshTokenRepository;
+import br.com.stanleydev.backendboilerplate.security.OpaqueTokens;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${application.jwt.refresh-token-expiration-ms}")
+    private long refreshExpirationMs;
+
+    @Value("${application.auth.refresh-token.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    /** Opens a new device session and returns the raw token; only its hash is persisted. */
+    @Transactional
+    public String issue(User user, String tenantId) {
+        String rawToken = OpaqueTokens.generate();
+        Instant now = Instant.now();
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(OpaqueTokens.hash(rawToken))
+                .userId(user.getId())
+                .tenantId(tenantId)
+                .createdAt(now)
+                .expiresAt(now.plusMillis(refreshExpirationMs))
+                .build());
+
+        return rawToken;
+    }
+
+    /**
+     * Validates and deletes the session in one go (tokens are single-use).
+     * If two requests race with the same token only the one that deletes the row succeeds.
+     */
+    @Transactional
+    public RefreshToken consume(String rawToken) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHashWithUser(OpaqueTokens.hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        // Expired rows are left for the purge job; deleting here would be rolled back by the exception
+        if (refreshToken.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+
+        if (refreshTokenRepository.deleteByIdReturningCount(refreshToken.getId()) == 0) {
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        return refreshToken;
+    }
+
+    /** Ends every session of the user, e.g. after a password reset. */
+    @Transactional
+    public void revokeAll(UUID userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.auth.refresh-token.purge-interval-ms:3600000}",
+            fixedDelayString = "${application.auth.refresh-token.purge-interval-ms:3600000}"
+    )
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.stanleydev.backendboilerplate.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small in-process cache with a per-entry expiry and a hard size bound.
+ * <p>
+ * Reads and writes go straight to a {@link ConcurrentHashMap}. When the map is full, a single thread
+ * evicts: expired entries first, then roughly a tenth of the live ones so eviction doesn't run on
+ * every insert. Meant for hot, small values (verified tokens, principals), not as a general cache.
+ */
+public class BoundedExpiringCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedExpiringCache(String name, int maxSize) {
+        this.name = name;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /** Returns the live value for this key, or {@code null} if absent or expired. */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.isExpired(System.currentTimeMillis())) {
+                hits.increment();
+                return entry.value();
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /** Like {@link #get(Object)} but without counting a hit or miss. */
+    public boolean containsKey(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && !entry.isExpired(System.currentTimeMillis());
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** Share of lookups served from the cache so far, or 0 before the first lookup. */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /** Publishes hit/miss/eviction counters, the size and the hit ratio, using Micrometer's cache meter names. */
+    public BoundedExpiringCache<K, V> registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", entries, ConcurrentHashMap::size)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, BoundedExpiringCache::getHitRatio)
+                .tag("cache", name)
+                .register(registry);
+        return this;
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.isExpired(now));
+
+            int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+            Iterator<K> iterator = entries.keySet().iterator();
+            while (excess-- > 0 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.stanleydev.backendboilerplate.cache;
+
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache regions backed by {@link BoundedExpiringCache}.
+ * <p>
+ * Each entity, natural-id and query region holds at most {@code hibernate.cache.bounded.max_entries}
+ * entries for {@code hibernate.cache.bounded.ttl_seconds}. Regions are per node: a change made on another
+ * node is only seen here once the entry expires, so the TTL bounds cross-node staleness. Hit and miss
+ * counters are published per region under the {@code cache.gets} meter.
+ * <p>
+ * Eviction drops arbitrary live entries, which would include the soft locks of {@code READ_WRITE} entities
+ * and let a concurrent load put a stale entity back mid-update. Cached entities therefore use
+ * {@code NONSTRICT_READ_WRITE}, which stores no locks and evicts the entry on every update instead.
+ */
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAX_ENTRIES = "hibernate.cache.bounded.max_entries";
+    public static final String TTL_SECONDS = "hibernate.cache.bounded.ttl_seconds";
+
+    private int maxEntries;
+    private long ttlMs;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        this.maxEntries = intSetting(configValues, MAX_ENTRIES, 10_000);
+        this.ttlMs = intSetting(configValues, TTL_SECONDS, 60) * 1000L;
+    }
+
+    private static int intSetting(Map<String, Object> configValues, String name, int defaultValue) {
+        Object value = configValues.get(name);
+        return value != null ? StandardConverters.asInteger(value) : defaultValue;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+        return new RegionStorage(regionConfig.getRegionName(), maxEntries, ttlMs);
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new RegionStorage(regionName, maxEntries, ttlMs);
+    }
+
+    // Update timestamps invalidate cached query results and must never be evicted or expire
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new RegionStorage(regionName, Integer.MAX_VALUE, 0);
+    }
+
+    static final class RegionStorage implements DomainDataStorageAccess {
+
+        private final BoundedExpiringCache<Object, Object> entries;
+        private final long ttlMs;
+
+        RegionStorage(String regionName, int maxEntries, long ttlMs) {
+            this.entries = new BoundedExpiringCache<>(regionName, maxEntries).registerMetrics(Metrics.globalRegistry);
+            this.ttlMs = ttlMs;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return entries.get(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            entries.put(key, value, ttlMs > 0 ? System.currentTimeMillis() + ttlMs : Long.MAX_VALUE);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            entries.clear();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public void release() {
+            entries.clear();
+        }
+
+        BoundedExpiringCache<Object, Object> entries() {
+            return entries;
+        }
+    }
+}
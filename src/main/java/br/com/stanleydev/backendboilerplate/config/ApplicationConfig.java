@@ -2,36 +2,61 @@ package br.com.stanleydev.backendboilerplate.config;
 
 import br.com.stanleydev.backendboilerplate.exception.ResourceNotFoundException;
 import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
+import br.com.stanleydev.backendboilerplate.security.BoundedPasswordEncoder;
+import br.com.stanleydev.backendboilerplate.security.PrincipalCache;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
 @EnableAsync
+@EnableScheduling
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + username));
+        return username -> principalCache.getOrLoad(username, email -> userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email)));
     }
 
+    /**
+     * Called by {@link DaoAuthenticationProvider} after a successful login when the stored hash was
+     * produced with a different BCrypt cost than the current one.
+     */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPasswordHash) -> {
+            User user = userRepository.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userDetails.getUsername()));
+            user.setPasswordHash(newPasswordHash);
+            User saved = userRepository.save(user);
+            principalCache.removeUserFromCache(saved.getEmail());
+            return saved;
+        };
+    }
+
+    @Bean
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -40,9 +65,22 @@ public class ApplicationConfig {
         return config.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${application.security.password-hashing.strength:10}") int strength,
+            @Value("${application.security.password-hashing.target-ms:0}") long targetMs,
+            @Value("${application.security.password-hashing.max-strength:16}") int maxStrength,
+            @Value("${application.security.password-hashing.threads:0}") int threads,
+            @Value("${application.security.password-hashing.queue-capacity:100}") int queueCapacity
+    ) {
+        // target-ms > 0 measures this machine at startup; strength is then only the lower bound
+        int effectiveStrength = targetMs > 0
+                ? BoundedPasswordEncoder.calibrateStrength(targetMs, strength, maxStrength)
+                : strength;
+        int effectiveThreads = threads > 0
+                ? threads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(effectiveStrength, effectiveThreads, queueCapacity, Metrics.globalRegistry);
     }
 
 }
\ No newline at end of file
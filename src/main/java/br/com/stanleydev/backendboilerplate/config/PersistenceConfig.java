@@ -0,0 +1,60 @@
+package br.com.stanleydev.backendboilerplate.config;
+
+import br.com.stanleydev.backendboilerplate.persistence.SchemaMigrations;
+import br.com.stanleydev.backendboilerplate.tenant.TenantAwareTransactionManager;
+import br.com.stanleydev.backendboilerplate.tenant.TenantFilterActivator;
+import br.com.stanleydev.backendboilerplate.tenant.TenantRowLevelSecurity;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+@Configuration
+public class PersistenceConfig {
+
+    // Migrations must finish before Hibernate validates the schema
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaMigrations() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SchemaMigrations.class);
+    }
+
+    // Repository calls outside a transaction get a short-lived EntityManager from the shared proxy that
+    // never passes through the transaction manager; they must be tenant-filtered all the same
+    @Bean
+    public static BeanPostProcessor tenantFilterEntityManagerInitializer(ObjectProvider<TenantFilterActivator> tenantFilterActivator) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setEntityManagerInitializer(entityManager ->
+                            tenantFilterActivator.getObject().activate(entityManager.unwrap(Session.class)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public TenantFilterActivator tenantFilterActivator() {
+        return new TenantFilterActivator().registerMetrics(Metrics.globalRegistry);
+    }
+
+    // Replaces Boot's default JpaTransactionManager; spring.transaction.* settings still apply
+    @Bean
+    public JpaTransactionManager transactionManager(
+            TenantFilterActivator tenantFilterActivator,
+            TenantRowLevelSecurity tenantRowLevelSecurity,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers
+    ) {
+        TenantAwareTransactionManager transactionManager = new TenantAwareTransactionManager(tenantFilterActivator, tenantRowLevelSecurity);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+}
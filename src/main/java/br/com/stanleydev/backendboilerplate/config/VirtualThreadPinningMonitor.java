@@ -0,0 +1,111 @@
+package br.com.stanleydev.backendboilerplate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In virtual-thread mode, watches the JFR {@code jdk.VirtualThreadPinned} event: a virtual thread that
+ * blocks while pinned (inside {@code synchronized} or native code) holds its carrier, and enough of them
+ * stall every request. Each pin is recorded in the {@code jvm.threads.virtual.pinned} timer, and every
+ * distinct call site is logged once with its stack.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "application.threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int REPORTED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Timer pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recording;
+
+    // The application's registry when one is configured (e.g. by actuator), else Micrometer's global one
+    @Autowired
+    public VirtualThreadPinningMonitor(
+            @Value("${application.threads.pinning-monitor.threshold-ms:20}") long thresholdMs,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(Duration.ofMillis(thresholdMs), meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    VirtualThreadPinningMonitor(Duration threshold, MeterRegistry registry) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinned.count();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+
+        List<String> frames = frames(event.getStackTrace());
+        String site = String.join("|", frames.subList(0, Math.min(3, frames.size())));
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("Virtual thread pinned its carrier for {} ms:\n\tat {}",
+                    event.getDuration().toMillis(),
+                    frames.stream().limit(REPORTED_FRAMES).collect(Collectors.joining("\n\tat ")));
+        }
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of("<no stack trace>");
+        }
+        return stackTrace.getFrames().stream()
+                .map(VirtualThreadPinningMonitor::format)
+                .toList();
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,11 +1,14 @@
 package br.com.stanleydev.backendboilerplate.organization.model;
 
+import br.com.stanleydev.backendboilerplate.persistence.GeneratedUuidV7;
 import br.com.stanleydev.backendboilerplate.user.model.User;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
@@ -16,11 +19,14 @@ import java.util.UUID;
 @Entity
 @Table(name = "memberships", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "organization_id"})
+}, indexes = {
+        @Index(name = "idx_memberships_organization_id_role", columnList = "organization_id, role")
 })
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Membership {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -1,11 +1,16 @@
 package br.com.stanleydev.backendboilerplate.organization.model;
 
+import br.com.stanleydev.backendboilerplate.persistence.GeneratedUuidV7;
 import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.UUID;
 
@@ -15,12 +20,15 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "organizations")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@NaturalIdCache
 public class Organization {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
+    @NaturalId
     @Column(nullable = false, unique = true, updatable = false)
     private String tenantId;
 
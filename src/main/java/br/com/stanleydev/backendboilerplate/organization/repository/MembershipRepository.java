@@ -2,7 +2,12 @@ package br.com.stanleydev.backendboilerplate.organization.repository;
 
 import br.com.stanleydev.backendboilerplate.organization.model.Membership;
 import br.com.stanleydev.backendboilerplate.organization.model.OrganizationRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,9 +16,19 @@ import java.util.UUID;
 
 @Repository
 public interface MembershipRepository extends JpaRepository<Membership, UUID> {
+    // Cached queries are dropped whenever memberships or organizations change
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Membership> findByUserId(UUID userId);
     Optional<Membership> findByUserIdAndOrganizationId(UUID userId, UUID organizationId);
     // Find memberships for an org with a specific role (e.g., OWNER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Membership> findByOrganizationIdAndRole(UUID organizationId, OrganizationRole role);
     // You could also use List<Membership> if multiple owners were possible
+
+    // Tenant of the user's primary organization (one they own, if any), read in a single join for login
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT o.tenantId FROM Membership m JOIN m.organization o WHERE m.userId = :userId " +
+            "ORDER BY CASE WHEN m.role = br.com.stanleydev.backendboilerplate.organization.model.OrganizationRole.OWNER THEN 0 ELSE 1 END, m.id " +
+            "LIMIT 1")
+    Optional<String> findPrimaryTenantIdByUserId(@Param("userId") UUID userId);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package br.com.stanleydev.backendboilerplate.organization.repository;
+
+import br.com.stanleydev.backendboilerplate.organization.model.Organization;
+
+import java.util.Optional;
+
+/** Organization lookups by unique business keys, served from the second-level cache when possible. */
+public interface OrganizationLookups {
+
+    Optional<Organization> findByTenantId(String tenantId);
+
+    Optional<Organization> findByStripeCustomerId(String stripeCustomerId);
+}
@@ -0,0 +1,68 @@
+package br.com.stanleydev.backendboilerplate.organization.repository;
+
+import br.com.stanleydev.backendboilerplate.cache.BoundedExpiringCache;
+import br.com.stanleydev.backendboilerplate.organization.model.Organization;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@code tenantId} is the organization's natural id, so it resolves through Hibernate's natural-id cache.
+ * {@code stripeCustomerId} can be assigned later and cannot be a second natural id; it is resolved to the
+ * organization id through a small local map instead, and the entity itself comes from the entity cache.
+ * A mapped id is always checked against the loaded entity, so a stale mapping only costs a query.
+ * <p>
+ * Fragment methods don't get the transaction Spring Data gives its own query methods, and outside one the
+ * shared EntityManager closes the session it unwrapped before the lookup runs; hence the annotations.
+ */
+class OrganizationLookupsImpl implements OrganizationLookups {
+
+    private static final long STRIPE_CUSTOMER_MAPPING_TTL_MS = Duration.ofHours(1).toMillis();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BoundedExpiringCache<String, UUID> organizationIdsByStripeCustomer;
+
+    OrganizationLookupsImpl(@Value("${spring.jpa.properties.hibernate.cache.bounded.max_entries:10000}") int maxEntries) {
+        this.organizationIdsByStripeCustomer = new BoundedExpiringCache<String, UUID>("organization-stripe-customer-ids", maxEntries)
+                .registerMetrics(Metrics.globalRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Organization> findByTenantId(String tenantId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Organization.class)
+                .loadOptional(tenantId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Organization> findByStripeCustomerId(String stripeCustomerId) {
+        UUID organizationId = organizationIdsByStripeCustomer.get(stripeCustomerId);
+        if (organizationId != null) {
+            Organization organization = entityManager.find(Organization.class, organizationId);
+            if (organization != null && stripeCustomerId.equals(organization.getStripeCustomerId())) {
+                return Optional.of(organization);
+            }
+            organizationIdsByStripeCustomer.remove(stripeCustomerId);
+        }
+
+        Optional<Organization> organization = entityManager
+                .createQuery("SELECT o FROM Organization o WHERE o.stripeCustomerId = :stripeCustomerId", Organization.class)
+                .setParameter("stripeCustomerId", stripeCustomerId)
+                .getResultStream()
+                .findFirst();
+        organization.ifPresent(found -> organizationIdsByStripeCustomer.put(
+                stripeCustomerId, found.getId(), System.currentTimeMillis() + STRIPE_CUSTOMER_MAPPING_TTL_MS));
+        return organization;
+    }
+}
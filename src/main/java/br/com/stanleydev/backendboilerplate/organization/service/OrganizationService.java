@@ -6,6 +6,7 @@ import br.com.stanleydev.backendboilerplate.organization.model.Membership;
 import br.com.stanleydev.backendboilerplate.organization.model.Organization;
 import br.com.stanleydev.backendboilerplate.organization.repository.MembershipRepository;
 import br.com.stanleydev.backendboilerplate.organization.repository.OrganizationRepository;
+import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
 import br.com.stanleydev.backendboilerplate.user.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -38,4 +39,12 @@ public class OrganizationService {
 
         return OrganizationResponse.fromEntity(organization);
     }
+
+    // Plan of the tenant's organization, FREE if there is none; the tenant bulkhead calls this outside any transaction
+    @Transactional(readOnly = true)
+    public SubscriptionStatus getSubscriptionStatus(String tenantId) {
+        return organizationRepository.findByTenantId(tenantId)
+                .map(Organization::getSubscriptionStatus)
+                .orElse(SubscriptionStatus.FREE);
+    }
 }
@@ -0,0 +1,191 @@
+package br.com.stanleydev.backendboilerplate.persistence;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies versioned SQL migrations from {@code classpath:db/migration} before JPA starts.
+ * Opt-in migrations live in subdirectories and are only picked up when enabled: {@code partitioning}
+ * with {@code application.tenant.partitioning.enabled}. They share the version sequence, and a version
+ * that was skipped is still applied if its migration is enabled later.
+ * <p>
+ * Scripts are named {@code V<version>__<description>.sql} and run once each, in version order, every
+ * one in its own transaction. A script is sent to Postgres as written, so it may contain dollar-quoted
+ * {@code DO} blocks. Applied versions and their checksums are kept in {@code schema_migrations};
+ * editing an applied script fails startup instead of leaving nodes with different schemas. A Postgres
+ * advisory lock serializes nodes that start at the same time.
+ */
+@Component
+public class SchemaMigrations {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    static final String LOCATION = "classpath:db/migration/V*__*.sql";
+    static final String PARTITIONING_LOCATION = "classpath:db/migration/partitioning/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    // Arbitrary constant shared by every node
+    private static final long ADVISORY_LOCK_KEY = 0x6D6967726174L;
+
+    private final boolean enabled;
+    private final List<String> locations;
+    private final DataSource dataSource;
+
+    public SchemaMigrations(
+            @Value("${application.schema.migrations.enabled:true}") boolean enabled,
+            @Value("${application.tenant.partitioning.enabled:false}") boolean tenantPartitioning,
+            DataSource dataSource
+    ) {
+        this.enabled = enabled;
+        this.locations = tenantPartitioning ? List.of(LOCATION, PARTITIONING_LOCATION) : List.of(LOCATION);
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    void migrate() throws SQLException, IOException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Migration> migrations = discover(locations);
+
+        try (Connection connection = dataSource.getConnection()) {
+            execute(connection, "SELECT pg_advisory_lock(" + ADVISORY_LOCK_KEY + ")");
+            try {
+                execute(connection, "CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                        "version integer PRIMARY KEY, description varchar(255) NOT NULL, checksum varchar(32) NOT NULL, " +
+                        "installed_at timestamp with time zone NOT NULL DEFAULT now(), execution_ms bigint NOT NULL)");
+
+                Map<Integer, String> applied = applied(connection);
+                int count = 0;
+                for (Migration migration : migrations) {
+                    String checksum = applied.get(migration.version());
+                    if (checksum == null) {
+                        apply(connection, migration);
+                        count++;
+                    } else if (!checksum.equals(migration.checksum())) {
+                        throw new IllegalStateException("Migration " + migration.resource().getFilename()
+                                + " was changed after it was applied; add a new migration instead");
+                    }
+                }
+                log.info("Schema up to date at version {} ({} migration(s) applied in {} ms)",
+                        migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version(),
+                        count, (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                execute(connection, "SELECT pg_advisory_unlock(" + ADVISORY_LOCK_KEY + ")");
+            }
+        }
+    }
+
+    static List<Migration> discover(List<String> locations) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Resource> resources = new ArrayList<>();
+        for (String location : locations) {
+            resources.addAll(Arrays.asList(resolver.getResources(location)));
+        }
+        List<Migration> migrations = resources.stream()
+                .map(SchemaMigrations::toMigration)
+                .sorted(Comparator.comparingInt(Migration::version))
+                .toList();
+
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate migration version " + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    private static Migration toMigration(Resource resource) {
+        Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Invalid migration file name " + resource.getFilename());
+        }
+        try (InputStream content = resource.getInputStream()) {
+            return new Migration(
+                    Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '),
+                    DigestUtils.md5DigestAsHex(content),
+                    resource
+            );
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read migration " + resource.getFilename(), e);
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            execute(connection, migration.script());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+                insert.setInt(1, migration.version());
+                insert.setString(2, migration.description());
+                insert.setString(3, migration.checksum());
+                insert.setLong(4, elapsedMs);
+                insert.executeUpdate();
+            }
+            connection.commit();
+            log.info("Applied migration V{} {} in {} ms", migration.version(), migration.description(), elapsedMs);
+        } catch (RuntimeException | SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static Map<Integer, String> applied(Connection connection) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rows.next()) {
+                applied.put(rows.getInt(1), rows.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    record Migration(int version, String description, String checksum, Resource resource) {
+
+        String script() {
+            try (InputStream content = resource.getInputStream()) {
+                return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read migration " + resource.getFilename(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.stanleydev.backendboilerplate.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562): 48-bit Unix milliseconds, then a 12-bit counter, then 62 random bits.
+ * <p>
+ * Consecutive ids sort in creation order, so new rows land at the right edge of the primary-key index
+ * instead of at random pages. The timestamp and counter share one {@link AtomicLong}, which keeps ids
+ * strictly increasing across threads even within the same millisecond or if the clock steps back;
+ * when the counter overflows it borrows from the next millisecond.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    // (unix millis << COUNTER_BITS) | counter of the last id handed out
+    private static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long timestampAndCounter = nextTimestampAndCounter(System.currentTimeMillis());
+        long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+        long mostSigBits = (timestamp << 16) | VERSION_7 | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /** Milliseconds since the epoch encoded in a version 7 UUID. */
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextTimestampAndCounter(long nowMillis) {
+        long candidate = nowMillis << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestampAndCounter.get();
+            long next = candidate > last ? candidate : last + 1;
+            if (lastTimestampAndCounter.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
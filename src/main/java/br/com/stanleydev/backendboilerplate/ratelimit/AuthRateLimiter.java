@@ -0,0 +1,82 @@
+package br.com.stanleydev.backendboilerplate.ratelimit;
+
+import br.com.stanleydev.backendboilerplate.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-IP and per-email limits for the {@code /api/auth} endpoints, checked before any password hashing.
+ * <p>
+ * Each limit is configured as {@code application.auth.rate-limit.<endpoint>.per-ip} or
+ * {@code .per-email} with the form {@code <requests>/<period>}, e.g. {@code 5/1m}; a missing or
+ * blank value leaves that key unlimited. Whether limits are per node or cluster-wide is decided by
+ * {@link RateLimiterFactory}.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final String PREFIX = "application.auth.rate-limit.";
+    private static final List<String> ENDPOINTS = List.of("login", "register", "refresh", "forgot-password", "reset-password");
+
+    private final boolean enabled;
+    private final Map<String, KeyedRateLimiter> limiters = new HashMap<>();
+
+    public AuthRateLimiter(
+            Environment environment,
+            RateLimiterFactory rateLimiterFactory,
+            @Value("${application.auth.rate-limit.enabled:true}") boolean enabled,
+            @Value("${application.auth.rate-limit.max-keys:100000}") int maxKeys
+    ) {
+        this.enabled = enabled;
+
+        for (String endpoint : ENDPOINTS) {
+            for (String dimension : List.of("per-ip", "per-email")) {
+                String name = endpoint + "." + dimension;
+                String spec = environment.getProperty(PREFIX + name);
+                if (spec != null && !spec.isBlank()) {
+                    limiters.put(name, rateLimiterFactory.create("auth." + name, spec, maxKeys));
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes a token for the client IP and, when given, the email.
+     *
+     * @throws TooManyRequestsException when either bucket is empty
+     */
+    public void check(String endpoint, String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        acquire(endpoint + ".per-ip", clientIp);
+        if (email != null) {
+            acquire(endpoint + ".per-email", email.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.auth.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        limiters.values().forEach(KeyedRateLimiter::evictIdle);
+    }
+
+    private void acquire(String name, String key) {
+        KeyedRateLimiter limiter = limiters.get(name);
+        if (limiter == null || key == null) {
+            return;
+        }
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new TooManyRequestsException("Too many requests - please try again later", retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package br.com.stanleydev.backendboilerplate.ratelimit;
+
+import br.com.stanleydev.backendboilerplate.ratelimit.repository.RateLimitWindowRepository;
+import br.com.stanleydev.backendboilerplate.security.OpaqueTokens;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-window limit shared by all nodes through the {@code rate_limit_windows} table.
+ * <p>
+ * Nodes don't ask the database for every request: each one reserves up to {@code prefetch} permits
+ * per key and window with a single upsert and serves them locally. Once the database reports the
+ * window as used up, the node rejects that key locally until the window ends. Reserved permits a node
+ * doesn't use are lost, so the effective limit can only be lower than configured, never higher.
+ * If the database is unavailable the check fails open for the rest of the window: each node then
+ * allows up to {@code capacity} requests per key on its own and does not retry the database until the
+ * next window.
+ */
+public class ClusterRateLimiter implements KeyedRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRateLimiter.class);
+
+    private static final int DATABASE_UNAVAILABLE = -1;
+
+    private final String name;
+    private final int capacity;
+    private final long windowMs;
+    private final int prefetch;
+    private final int maxKeys;
+    private final RateLimitWindowRepository repository;
+    private final LongSupplier millisClock;
+
+    private final ConcurrentHashMap<String, Allocation> allocations = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder reservations = new LongAdder();
+
+    public ClusterRateLimiter(String name, int capacity, Duration period, int prefetch, int maxKeys,
+                              RateLimitWindowRepository repository) {
+        this(name, capacity, period, prefetch, maxKeys, repository, System::currentTimeMillis);
+    }
+
+    ClusterRateLimiter(String name, int capacity, Duration period, int prefetch, int maxKeys,
+                       RateLimitWindowRepository repository, LongSupplier millisClock) {
+        if (capacity < 1 || period.toMillis() < 1) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs a positive capacity and period");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.windowMs = period.toMillis();
+        // Small limits (e.g. 5 per email) go to the database every time rather than strand permits on one node
+        this.prefetch = Math.max(1, Math.min(prefetch, capacity / 10));
+        this.maxKeys = Math.max(1, maxKeys);
+        this.repository = repository;
+        this.millisClock = millisClock;
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        if (allocations.size() >= maxKeys && !allocations.containsKey(key)) {
+            evict();
+        }
+        Allocation allocation = allocations.computeIfAbsent(key, k -> new Allocation());
+
+        // The lock only guards the counters; the upsert runs outside it, and requests that find one
+        // already in flight for this key wait for its result instead of queueing behind the lock
+        while (true) {
+            // Read the clock on every pass: after waiting for a reservation the window may have moved on
+            long now = millisClock.getAsLong();
+            long windowStart = now - Math.floorMod(now, windowMs);
+            long windowEnd;
+            CompletableFuture<Void> pending;
+            boolean reserving = false;
+            allocation.lock.lock();
+            try {
+                if (windowStart > allocation.windowStart) {
+                    allocation.windowStart = windowStart;
+                    allocation.remaining = 0;
+                    allocation.exhausted = false;
+                    allocation.pending = null;
+                } else {
+                    // Another request already moved the allocation on; never roll it back to a passed window
+                    windowStart = allocation.windowStart;
+                }
+                windowEnd = windowStart + windowMs;
+                if (allocation.remaining > 0) {
+                    allocation.remaining--;
+                    allowed.increment();
+                    return 0;
+                }
+                if (allocation.exhausted) {
+                    rejected.increment();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowEnd - now));
+                }
+                if (allocation.pending == null) {
+                    allocation.pending = new CompletableFuture<>();
+                    reserving = true;
+                }
+                pending = allocation.pending;
+            } finally {
+                allocation.lock.unlock();
+            }
+
+            if (reserving) {
+                int permits = DATABASE_UNAVAILABLE;
+                try {
+                    permits = reserve(key, windowStart, windowEnd);
+                } finally {
+                    publish(allocation, windowStart, pending, permits);
+                }
+            } else {
+                pending.join();
+            }
+        }
+    }
+
+    private void publish(Allocation allocation, long windowStart, CompletableFuture<Void> pending, int permits) {
+        allocation.lock.lock();
+        try {
+            if (allocation.pending == pending) {
+                allocation.pending = null;
+            }
+            // A reservation for a window that has already passed is dropped
+            if (allocation.windowStart == windowStart) {
+                if (permits == DATABASE_UNAVAILABLE) {
+                    // Fail open for the rest of the window, bounded by this node, without asking the database again
+                    allocation.remaining = capacity;
+                    allocation.exhausted = true;
+                } else {
+                    allocation.remaining += permits;
+                    allocation.exhausted = permits == 0;
+                }
+            }
+        } finally {
+            allocation.lock.unlock();
+        }
+        pending.complete(null);
+    }
+
+    /** Drops allocations from windows that have ended. */
+    @Override
+    public void evictIdle() {
+        long now = millisClock.getAsLong();
+        long currentWindowStart = now - Math.floorMod(now, windowMs);
+        allocations.values().removeIf(allocation -> allocation.windowStart < currentWindowStart);
+    }
+
+    // Dropping a current allocation only loses its reserved permits (stricter) or costs one more round-trip
+    private void evict() {
+        evictIdle();
+        int excess = allocations.size() - maxKeys + Math.max(1, maxKeys / 10);
+        Iterator<String> iterator = allocations.keySet().iterator();
+        while (excess-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public int size() {
+        return allocations.size();
+    }
+
+    public long getReservationCount() {
+        return reservations.sum();
+    }
+
+    @Override
+    public ClusterRateLimiter registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("ratelimit.requests", allowed, LongAdder::sum)
+                .tag("limiter", name)
+                .tag("result", "allowed")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.requests", rejected, LongAdder::sum)
+                .tag("limiter", name)
+                .tag("result", "rejected")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.reservations", reservations, LongAdder::sum)
+                .tag("limiter", name)
+                .register(registry);
+        Gauge.builder("ratelimit.keys", allocations, ConcurrentHashMap::size)
+                .tag("limiter", name)
+                .register(registry);
+        return this;
+    }
+
+    private int reserve(String key, long windowStart, long windowEnd) {
+        reservations.increment();
+        try {
+            int total = repository.addPermits(OpaqueTokens.hash(name + ":" + key), windowStart, windowEnd, prefetch);
+            int before = total - prefetch;
+            return Math.max(0, Math.min(prefetch, capacity - before));
+        } catch (DataAccessException e) {
+            log.warn("Rate limit {} could not reach the database, limiting locally until the window ends: {}", name, e.getMessage());
+            return DATABASE_UNAVAILABLE;
+        }
+    }
+
+    private static final class Allocation {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long windowStart = Long.MIN_VALUE;
+        private int remaining;
+        // No more reservations this window: the database reported it used up, or could not be reached
+        private boolean exhausted;
+        private CompletableFuture<Void> pending;
+    }
+}
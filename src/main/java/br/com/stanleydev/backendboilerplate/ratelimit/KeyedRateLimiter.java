@@ -0,0 +1,19 @@
+package br.com.stanleydev.backendboilerplate.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/** A named limit applied independently to each key (client IP, email, ...). */
+public interface KeyedRateLimiter {
+
+    /**
+     * Takes one permit for {@code key}.
+     *
+     * @return {@code 0} if a permit was available, otherwise the nanoseconds until the next one is
+     */
+    long tryAcquire(String key);
+
+    /** Drops per-key state that no longer affects any decision. */
+    void evictIdle();
+
+    KeyedRateLimiter registerMetrics(MeterRegistry registry);
+}
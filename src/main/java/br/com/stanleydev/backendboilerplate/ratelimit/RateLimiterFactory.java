@@ -0,0 +1,76 @@
+package br.com.stanleydev.backendboilerplate.ratelimit;
+
+import br.com.stanleydev.backendboilerplate.ratelimit.repository.RateLimitWindowRepository;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Creates limiters for controllers. With {@code application.rate-limit.mode=cluster} the limits are
+ * shared by every node through Postgres; the default {@code local} keeps them in memory per node.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimiterFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiterFactory.class);
+
+    private final RateLimitWindowRepository rateLimitWindowRepository;
+
+    @Value("${application.rate-limit.mode:local}")
+    private String mode;
+
+    @Value("${application.rate-limit.cluster.prefetch:10}")
+    private int prefetch;
+
+    @Value("${application.rate-limit.cluster.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    /** Parses {@code <requests>/<period>}, e.g. {@code 5/1m}. */
+    public KeyedRateLimiter create(String name, String spec, int maxKeys) {
+        String[] parts = spec.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid rate limit '" + spec + "' for " + name + ", expected <requests>/<period>");
+        }
+        return create(name, Integer.parseInt(parts[0].trim()), DurationStyle.detectAndParse(parts[1].trim()), maxKeys);
+    }
+
+    public KeyedRateLimiter create(String name, int capacity, Duration period, int maxKeys) {
+        KeyedRateLimiter limiter = isCluster()
+                ? new ClusterRateLimiter(name, capacity, period, prefetch, maxKeys, rateLimitWindowRepository)
+                : new TokenBucketRateLimiter(name, capacity, period, maxKeys);
+        return limiter.registerMetrics(Metrics.globalRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.rate-limit.cluster.purge-interval-ms:300000}",
+            fixedDelayString = "${application.rate-limit.cluster.purge-interval-ms:300000}"
+    )
+    public void purgeExpiredWindows() {
+        if (!isCluster()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = rateLimitWindowRepository.deleteExpiredBatch(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired rate-limit windows", purged);
+        }
+    }
+
+    private boolean isCluster() {
+        return "cluster".equalsIgnoreCase(mode);
+    }
+}
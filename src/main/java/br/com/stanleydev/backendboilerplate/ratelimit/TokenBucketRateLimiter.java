@@ -0,0 +1,139 @@
+package br.com.stanleydev.backendboilerplate.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token bucket holding up to {@code capacity} tokens that refill evenly over {@code period}.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} with the time at which it will be full again (the GCRA
+ * form of a token bucket), so a check is one map lookup and one CAS with no locks or allocation.
+ * A bucket whose refill time has passed is indistinguishable from a new one and can be dropped
+ * without losing anything; that is how idle keys are evicted, and the only way. Dropping a bucket that
+ * is still refilling would reset it, so a client rotating through fresh keys could flush the bucket of
+ * the key it is attacking; while all {@code maxKeys} buckets are refilling, new keys are rejected instead.
+ */
+public class TokenBucketRateLimiter implements KeyedRateLimiter {
+
+    private final String name;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TokenBucketRateLimiter(String name, int capacity, Duration period, int maxKeys) {
+        this(name, capacity, period, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(String name, int capacity, Duration period, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs a positive capacity and period");
+        }
+        this.name = name;
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxKeys = Math.max(1, maxKeys);
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+
+        AtomicLong fullAt = buckets.get(key);
+        if (fullAt == null) {
+            if (buckets.size() >= maxKeys) {
+                evict(now);
+                if (buckets.size() >= maxKeys) {
+                    rejected.increment();
+                    return emissionIntervalNanos;
+                }
+            }
+            fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = fullAt.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - burstToleranceNanos - now;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + emissionIntervalNanos)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    /** Drops every bucket that has fully refilled. */
+    @Override
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public TokenBucketRateLimiter registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("ratelimit.requests", allowed, LongAdder::sum)
+                .tag("limiter", name)
+                .tag("result", "allowed")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.requests", rejected, LongAdder::sum)
+                .tag("limiter", name)
+                .tag("result", "rejected")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.evictions", evictions, LongAdder::sum)
+                .tag("limiter", name)
+                .register(registry);
+        Gauge.builder("ratelimit.keys", buckets, ConcurrentHashMap::size)
+                .tag("limiter", name)
+                .register(registry);
+        return this;
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(fullAt -> {
+                if (fullAt.get() - now > 0) {
+                    return false;
+                }
+                evictions.increment();
+                return true;
+            });
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.stanleydev.backendboilerplate.ratelimit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Permits handed out for one key in one fixed window, shared by every node in cluster rate-limit mode.
+ * The key is the SHA-256 of limiter name and raw key, so client IPs and emails are not stored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(RateLimitWindow.Key.class)
+@Table(name = "rate_limit_windows", indexes = {
+        @Index(name = "idx_rate_limit_windows_expires_at", columnList = "expires_at")
+})
+public class RateLimitWindow {
+
+    @Id
+    @Column(name = "bucket_key", length = 64)
+    private String bucketKey;
+
+    // Epoch millis of the window start
+    @Id
+    @Column(name = "window_start")
+    private long windowStart;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Column(nullable = false)
+    private int permits;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String bucketKey;
+        private long windowStart;
+    }
+}
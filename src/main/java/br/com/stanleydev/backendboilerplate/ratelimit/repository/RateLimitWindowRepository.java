@@ -0,0 +1,32 @@
+package br.com.stanleydev.backendboilerplate.ratelimit.repository;
+
+import br.com.stanleydev.backendboilerplate.ratelimit.model.RateLimitWindow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RateLimitWindowRepository extends JpaRepository<RateLimitWindow, RateLimitWindow.Key> {
+
+    // One round-trip: creates the window row or adds to it, and returns the window's new total
+    @Transactional
+    @Query(value = "INSERT INTO rate_limit_windows (bucket_key, window_start, expires_at, permits) " +
+            "VALUES (:bucketKey, :windowStart, :expiresAt, :permits) " +
+            "ON CONFLICT (bucket_key, window_start) " +
+            "DO UPDATE SET permits = rate_limit_windows.permits + EXCLUDED.permits " +
+            "RETURNING permits", nativeQuery = true)
+    int addPermits(@Param("bucketKey") String bucketKey,
+                   @Param("windowStart") long windowStart,
+                   @Param("expiresAt") long expiresAt,
+                   @Param("permits") int permits);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM rate_limit_windows WHERE (bucket_key, window_start) IN " +
+            "(SELECT bucket_key, window_start FROM rate_limit_windows WHERE expires_at < :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") long now, @Param("batchSize") int batchSize);
+}
@@ -1,6 +1,7 @@
 package br.com.stanleydev.backendboilerplate.security;
 
 import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.user.model.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,7 +26,13 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    // When enabled, the principal is built from the token's claims instead of a user lookup per request
+    @Value("${application.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -35,8 +43,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
-        final String tenantId;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -45,37 +51,64 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7); // "Bearer " is 7 chars
 
+        // One verified parse per request; subject, tenant and expiry all come from it
+        VerifiedToken token;
         try {
-            userEmail = jwtService.extractUsername(jwt);
-            tenantId = jwtService.extractTenantId(jwt);
+            token = verifiedTokenCache.getOrVerify(jwt, jwtService::verify);
+        } catch (Exception e) {
+            logger.warn("JWT processing error: " + e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-            if (tenantId != null) {
-                TenantContext.setCurrentTenant(tenantId);
+        // The tenant stays bound for the rest of the chain and is unbound when it returns
+        try (TenantContext.Scope ignored = TenantContext.bind(token.tenantId())) {
+            try {
+                authenticate(token, request);
+            } catch (Exception e) {
+                logger.warn("JWT processing error: " + e.getMessage());
             }
+            filterChain.doFilter(request, response);
+        }
+    }
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+    private void authenticate(VerifiedToken token, HttpServletRequest request) {
+        if (token.subject() == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+        UserDetails userDetails = resolvePrincipal(token);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+        if (userDetails != null && jwtService.isTokenValid(token, userDetails)) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+    }
+
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        if (statelessPrincipal && token.hasPrincipalClaims()) {
+            if (!tokenVersionRegistry.isCurrent(token.userId(), token.tokenVersion())) {
+                log.debug("Rejecting revoked token version {} for user {}", token.tokenVersion(), token.userId());
+                return null;
             }
+            return jwtService.toPrincipal(token);
+        }
 
-            filterChain.doFilter(request, response);
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.subject());
 
-        } catch (Exception e) {
-            logger.warn("JWT processing error: " + e.getMessage());
-            filterChain.doFilter(request, response);
-        } finally {
-            TenantContext.clear();
+        // Tokens issued before a password reset or role change carry an older version
+        if (userDetails instanceof User user
+                && token.tokenVersion() != null
+                && token.tokenVersion() != user.getTokenVersion()) {
+            log.debug("Rejecting stale token version {} for user {}", token.tokenVersion(), user.getId());
+            return null;
         }
+        return userDetails;
     }
 }
\ No newline at end of file
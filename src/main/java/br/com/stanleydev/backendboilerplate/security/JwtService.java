@@ -1,11 +1,13 @@
 package br.com.stanleydev.backendboilerplate.security;
 
-import br.com.stanleydev.backendboilerplate.email.EmailService;
+import br.com.stanleydev.backendboilerplate.user.model.Role;
 import br.com.stanleydev.backendboilerplate.user.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,7 +15,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,21 +25,44 @@ public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
 
+    static final String TENANT_ID_CLAIM = "tenantId";
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${application.jwt.secret-key}")
     private String secretKey;
 
     @Value("${application.jwt.expiration-ms}")
     private long expirationMs;
 
-    @Value("${application.jwt.refresh-token-expiration-ms}")
-    private long refreshExpirationMs;
+    // Decoding the secret and building the parser are not free, so both are done once here
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    /**
+     * Parses and verifies the token exactly once.
+     * Throws a {@link io.jsonwebtoken.JwtException} if the signature is invalid or the token has expired.
+     */
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.from(extractAllClaims(token));
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public String extractTenantId(String token) {
-        return extractClaim(token, claims -> claims.get("tenantId", String.class));
+        return extractClaim(token, claims -> claims.get(TENANT_ID_CLAIM, String.class));
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -53,57 +77,58 @@ public class JwtService {
     public String generateAccessToken(Map<String, Object> extraClaims, UserDetails userDetails, String tenantId) {
         // Add the tenantId as a custom claim - NOW PASSED IN
         if (tenantId != null) {
-            extraClaims.put("tenantId", tenantId);
+            extraClaims.put(TENANT_ID_CLAIM, tenantId);
         } else {
             // Handle case where tenantId might be missing? Log warning?
             log.warn("Generating access token without tenantId for user {}", userDetails.getUsername());
         }
 
+        // Lets the filter authenticate from the token alone and detect revoked token versions
+        if (userDetails instanceof User user) {
+            if (user.getId() != null) {
+                extraClaims.put(USER_ID_CLAIM, user.getId().toString());
+            }
+            if (user.getRole() != null) {
+                extraClaims.put(ROLE_CLAIM, user.getRole().name());
+            }
+            extraClaims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        }
+
         return Jwts.builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        return Jwts.builder()
-                .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + refreshExpirationMs))
-                .signWith(getSigningKey())
-                .compact();
-    }
-
-    public Instant getRefreshTokenExpiry() {
-        return Instant.now().plusMillis(refreshExpirationMs);
-    }
-
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject() != null
+                && token.subject().equals(userDetails.getUsername())
+                && !token.isExpired();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Builds a detached, claims-only principal. Only id, email, role and token version are populated;
+     * anything else must be loaded by id.
+     */
+    public User toPrincipal(VerifiedToken token) {
+        return User.builder()
+                .id(token.userId())
+                .email(token.subject())
+                .role(Role.valueOf(token.role()))
+                .tokenVersion(token.tokenVersion())
+                .build();
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import br.com.stanleydev.backendboilerplate.cache.BoundedExpiringCache;
+import br.com.stanleydev.backendboilerplate.user.model.Role;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded, short-lived cache of loaded principals keyed by email, used by the
+ * {@code userDetailsService} bean so authenticated requests don't query {@code users} every time.
+ * <p>
+ * Only an immutable snapshot (id, email, password hash, role, token version) is kept, and every
+ * lookup gets its own detached {@link User} built from it, like the claims-only principals of the
+ * stateless mode: callers can't change what other threads see, and there is no session to touch.
+ * <p>
+ * Anything that changes a user (profile, role, email, password, deletion) must call
+ * {@link #removeUserFromCache(String)}; the TTL only bounds staleness for writes made outside the app.
+ */
+@Component
+public class PrincipalCache implements UserCache {
+
+    private static final int EVICTION_STRIPES = 64;
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final BoundedExpiringCache<String, Snapshot> principals;
+    // Bumped on every eviction; a load only caches its result if its key's stripe did not move meanwhile
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    public PrincipalCache(
+            @Value("${application.security.principal-cache.enabled:false}") boolean enabled,
+            @Value("${application.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${application.security.principal-cache.ttl-ms:60000}") long ttlMs
+    ) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.principals = new BoundedExpiringCache<>("principals", maxSize);
+
+        if (enabled) {
+            principals.registerMetrics(Metrics.globalRegistry);
+        }
+    }
+
+    /**
+     * Returns a copy of the cached principal, or runs {@code loader} and caches a snapshot of its result.
+     * A load that overlaps an eviction of the same user is returned but not cached, so a row read
+     * before a commit cannot come back after the commit has evicted it.
+     */
+    public User getOrLoad(String username, Function<String, User> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        Snapshot cached = principals.get(username);
+        if (cached != null) {
+            return cached.toUser();
+        }
+
+        int stripe = stripe(username);
+        long version = evictions.get(stripe);
+        User user = loader.apply(username);
+        if (evictions.get(stripe) == version) {
+            principals.put(username, Snapshot.of(user), System.currentTimeMillis() + ttlMs);
+            // An eviction between the check and the put must still win
+            if (evictions.get(stripe) != version) {
+                principals.remove(username);
+            }
+        }
+        return user;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        if (!enabled) {
+            return null;
+        }
+        Snapshot cached = principals.get(username);
+        return cached != null ? cached.toUser() : null;
+    }
+
+    /** Unguarded put for {@link UserCache} callers; the application loads through {@link #getOrLoad}. */
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (enabled && user instanceof User entity) {
+            principals.put(entity.getUsername(), Snapshot.of(entity), System.currentTimeMillis() + ttlMs);
+        }
+    }
+
+    /**
+     * Evicts now and, inside a transaction, again after commit, so a request that re-reads the
+     * user before the commit lands cannot leave the old row cached.
+     */
+    @Override
+    public void removeUserFromCache(String username) {
+        if (!enabled || username == null) {
+            return;
+        }
+        evict(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return principals.getHitCount();
+    }
+
+    public long getMissCount() {
+        return principals.getMissCount();
+    }
+
+    private void evict(String username) {
+        evictions.incrementAndGet(stripe(username));
+        principals.remove(username);
+    }
+
+    private static int stripe(String username) {
+        return Math.floorMod(username.hashCode(), EVICTION_STRIPES);
+    }
+
+    private record Snapshot(UUID id, String email, String passwordHash, Role role, int tokenVersion) {
+
+        static Snapshot of(User user) {
+            return new Snapshot(user.getId(), user.getEmail(), user.getPasswordHash(), user.getRole(), user.getTokenVersion());
+        }
+
+        User toUser() {
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .passwordHash(passwordHash)
+                    .role(role)
+                    .tokenVersion(tokenVersion)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks recently revoked access-token versions per user.
+ * <p>
+ * Every access token carries the user's {@code tokenVersion}. Bumping that version (password reset,
+ * role or email change, deletion) is recorded here, and tokens with an older version are rejected.
+ * An entry only needs to live as long as the longest access token issued before it, so entries
+ * are dropped after {@code application.jwt.expiration-ms} and the map stays small.
+ * <p>
+ * The registry is per node: in a multi-node deployment a revocation is only seen by the node that
+ * made it until older tokens expire. The DB-backed principal mode checks the persisted version
+ * and does not have this limitation.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final int REVOKED_ALL = Integer.MAX_VALUE;
+
+    private final long retentionMs;
+    private final Map<UUID, Revocation> revocations = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(@Value("${application.jwt.expiration-ms}") long accessTokenExpirationMs) {
+        this.retentionMs = accessTokenExpirationMs;
+    }
+
+    /**
+     * Increments the user's token version and records it, invalidating every access token issued so far.
+     * Recorded before the surrounding transaction commits: a rollback only forces an extra login.
+     */
+    public void revoke(User user) {
+        int newVersion = user.getTokenVersion() + 1;
+        user.setTokenVersion(newVersion);
+        record(user.getId(), newVersion);
+    }
+
+    /** Invalidates every token of a user that no longer exists. */
+    public void revokeAll(UUID userId) {
+        record(userId, REVOKED_ALL);
+    }
+
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        Revocation revocation = revocations.get(userId);
+        if (revocation == null) {
+            return true;
+        }
+        if (revocation.isStale(System.currentTimeMillis(), retentionMs)) {
+            revocations.remove(userId, revocation);
+            return true;
+        }
+        return tokenVersion >= revocation.minimumVersion();
+    }
+
+    public int size() {
+        return revocations.size();
+    }
+
+    private void record(UUID userId, int minimumVersion) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        revocations.values().removeIf(revocation -> revocation.isStale(now, retentionMs));
+        revocations.merge(userId, new Revocation(minimumVersion, now),
+                (existing, added) -> existing.minimumVersion() >= added.minimumVersion()
+                        ? new Revocation(existing.minimumVersion(), now)
+                        : added);
+    }
+
+    private record Revocation(int minimumVersion, long recordedAtMs) {
+        boolean isStale(long nowMs, long retentionMs) {
+            return nowMs - recordedAtMs > retentionMs;
+        }
+    }
+}
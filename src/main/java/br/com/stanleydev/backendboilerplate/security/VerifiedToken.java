@@ -0,0 +1,52 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Result of a single signature-verified parse of a JWT.
+ * Everything the request path needs is read from here instead of re-parsing the token.
+ */
+public record VerifiedToken(
+        String subject,
+        String tenantId,
+        Instant expiresAt,
+        Claims claims
+) {
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(JwtService.TENANT_ID_CLAIM, String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims
+        );
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+
+    /** True when the token carries enough claims to build a principal without a user lookup. */
+    public boolean hasPrincipalClaims() {
+        return claims != null
+                && claims.get(JwtService.USER_ID_CLAIM) != null
+                && claims.get(JwtService.ROLE_CLAIM) != null
+                && claims.get(JwtService.TOKEN_VERSION_CLAIM) != null;
+    }
+
+    public UUID userId() {
+        String userId = claims != null ? claims.get(JwtService.USER_ID_CLAIM, String.class) : null;
+        return userId != null ? UUID.fromString(userId) : null;
+    }
+
+    public String role() {
+        return claims != null ? claims.get(JwtService.ROLE_CLAIM, String.class) : null;
+    }
+
+    public Integer tokenVersion() {
+        return claims != null ? claims.get(JwtService.TOKEN_VERSION_CLAIM, Integer.class) : null;
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import br.com.stanleydev.backendboilerplate.cache.BoundedExpiringCache;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Optional, size-bounded cache of already verified access tokens.
+ * <p>
+ * Entries are keyed by the SHA-256 of the raw token (the token itself is never stored as a key)
+ * and are never served past the token's own {@code exp}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final MessageDigest SHA_256_PROTOTYPE = newSha256();
+
+    private final boolean enabled;
+    private final BoundedExpiringCache<TokenKey, VerifiedToken> entries;
+
+    public VerifiedTokenCache(
+            @Value("${application.jwt.verification-cache.enabled:false}") boolean enabled,
+            @Value("${application.jwt.verification-cache.max-size:10000}") int maxSize
+    ) {
+        this.enabled = enabled;
+        this.entries = new BoundedExpiringCache<>("jwt-verification", maxSize);
+
+        if (enabled) {
+            entries.registerMetrics(Metrics.globalRegistry);
+        }
+    }
+
+    /**
+     * Returns the cached verification result for this token, or runs {@code verifier} and caches it.
+     * Exceptions thrown by the verifier (bad signature, expired) propagate and nothing is cached.
+     */
+    public VerifiedToken getOrVerify(String token, Function<String, VerifiedToken> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        TokenKey key = TokenKey.of(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = verifier.apply(token);
+
+        // Tokens without an exp would live forever in the cache, so they are always re-verified
+        if (verified.expiresAt() != null) {
+            entries.put(key, verified, verified.expiresAt().toEpochMilli());
+        }
+        return verified;
+    }
+
+    public long getHitCount() {
+        return entries.getHitCount();
+    }
+
+    public long getMissCount() {
+        return entries.getMissCount();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class TokenKey {
+        private final byte[] digest;
+        private final int hash;
+
+        private TokenKey(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        static TokenKey of(String token) {
+            try {
+                MessageDigest sha256 = (MessageDigest) SHA_256_PROTOTYPE.clone();
+                return new TokenKey(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } catch (CloneNotSupportedException e) {
+                return new TokenKey(newSha256().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenKey other && Arrays.equals(digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
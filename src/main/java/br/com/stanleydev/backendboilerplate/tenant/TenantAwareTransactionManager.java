@@ -0,0 +1,36 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Activates the tenant filter once per physical transaction, right after it begins (a no-op when the
+ * EntityManager was just opened for the same tenant; every EntityManager is filtered when it is created).
+ * Nested {@code @Transactional} calls join the running transaction and do not come through here.
+ * In row-level-security mode the tenant is also set on the connection at the same point.
+ */
+public class TenantAwareTransactionManager extends JpaTransactionManager {
+
+    private final TenantFilterActivator tenantFilterActivator;
+    private final TenantRowLevelSecurity rowLevelSecurity;
+
+    public TenantAwareTransactionManager(TenantFilterActivator tenantFilterActivator, TenantRowLevelSecurity rowLevelSecurity) {
+        this.tenantFilterActivator = tenantFilterActivator;
+        this.rowLevelSecurity = rowLevelSecurity;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        if (holder != null) {
+            Session session = holder.getEntityManager().unwrap(Session.class);
+            tenantFilterActivator.activate(session);
+            rowLevelSecurity.bind(session);
+        }
+    }
+}
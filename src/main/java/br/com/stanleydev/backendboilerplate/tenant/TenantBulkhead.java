@@ -0,0 +1,210 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.exception.TooManyRequestsException;
+import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps how many requests each tenant can have in flight, so one organization cannot take every
+ * request thread and pooled connection.
+ * <p>
+ * Every tenant gets its own fair {@link Semaphore}, sized by its {@link SubscriptionStatus}. A request
+ * over the limit waits up to {@code maxWaitMs} for a permit and is then rejected with
+ * {@link TooManyRequestsException}. The status is looked up again after {@code statusTtlMs}, so an
+ * upgrade takes effect without a restart. Idle tenants are dropped when more than {@code maxTenants}
+ * are tracked.
+ * <p>
+ * Per-tenant meters ({@code tenant.bulkhead.queued}, {@code tenant.bulkhead.rejected}) are only registered
+ * once a tenant first has to wait, which keeps the tenant tag limited to the noisy ones.
+ */
+public class TenantBulkhead {
+
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final Map<SubscriptionStatus, Integer> limits;
+    private final long maxWaitMs;
+    private final long statusTtlMs;
+    private final int maxTenants;
+    private final Function<String, SubscriptionStatus> statusResolver;
+    private final MeterRegistry registry;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, Compartment> compartments = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    public TenantBulkhead(
+            Map<SubscriptionStatus, Integer> limits,
+            long maxWaitMs,
+            long statusTtlMs,
+            int maxTenants,
+            Function<String, SubscriptionStatus> statusResolver,
+            MeterRegistry registry
+    ) {
+        this(limits, maxWaitMs, statusTtlMs, maxTenants, statusResolver, registry, System::currentTimeMillis);
+    }
+
+    TenantBulkhead(
+            Map<SubscriptionStatus, Integer> limits,
+            long maxWaitMs,
+            long statusTtlMs,
+            int maxTenants,
+            Function<String, SubscriptionStatus> statusResolver,
+            MeterRegistry registry,
+            LongSupplier clock
+    ) {
+        this.limits = Map.copyOf(limits);
+        this.maxWaitMs = maxWaitMs;
+        this.statusTtlMs = statusTtlMs;
+        this.maxTenants = Math.max(1, maxTenants);
+        this.statusResolver = statusResolver;
+        this.registry = registry;
+        this.clock = clock;
+
+        Gauge.builder("tenant.bulkhead.tenants", compartments, ConcurrentHashMap::size).register(registry);
+    }
+
+    /** Takes one of the tenant's permits, waiting briefly if they are all in use. */
+    public Permit acquire(String tenantId) {
+        Compartment compartment = compartment(tenantId);
+        Semaphore semaphore = compartment.semaphore;
+
+        if (semaphore.tryAcquire()) {
+            return semaphore::release;
+        }
+
+        compartment.registerMetrics();
+        try {
+            if (maxWaitMs > 0 && semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                return semaphore::release;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        compartment.rejected.increment();
+        throw new TooManyRequestsException("Too many concurrent requests for this organization - please retry shortly", 1L);
+    }
+
+    public int getAvailablePermits(String tenantId) {
+        Compartment compartment = compartments.get(tenantId);
+        return compartment != null ? compartment.semaphore.availablePermits() : -1;
+    }
+
+    public long getRejectedCount(String tenantId) {
+        Compartment compartment = compartments.get(tenantId);
+        return compartment != null ? compartment.rejected.sum() : 0;
+    }
+
+    public int size() {
+        return compartments.size();
+    }
+
+    private Compartment compartment(String tenantId) {
+        long now = clock.getAsLong();
+        Compartment compartment = compartments.get(tenantId);
+        if (compartment != null && compartment.statusExpiresAt > now) {
+            return compartment;
+        }
+
+        if (compartment == null && compartments.size() >= maxTenants) {
+            evictIdle();
+        }
+
+        SubscriptionStatus status = statusResolver.apply(tenantId);
+        long expiresAt = now + statusTtlMs;
+        // In-flight requests keep releasing into the compartment they acquired from, so replacing one is safe
+        Compartment current = compartments.compute(tenantId, (key, existing) -> {
+            if (existing != null && existing.status == status) {
+                existing.statusExpiresAt = expiresAt;
+                return existing;
+            }
+            if (existing != null) {
+                existing.unregisterMetrics();
+            }
+            return new Compartment(key, status, limitFor(status), expiresAt);
+        });
+        return current;
+    }
+
+    private int limitFor(SubscriptionStatus status) {
+        Integer limit = limits.get(status);
+        if (limit == null) {
+            throw new IllegalStateException("No bulkhead limit configured for subscription status " + status);
+        }
+        return limit;
+    }
+
+    private void evictIdle() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compartments.values().removeIf(compartment -> {
+                if (!compartment.isIdle()) {
+                    return false;
+                }
+                compartment.unregisterMetrics();
+                return true;
+            });
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private final class Compartment {
+        private final String tenantId;
+        private final SubscriptionStatus status;
+        private final int limit;
+        private final Semaphore semaphore;
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicBoolean metricsRegistered = new AtomicBoolean(false);
+        private volatile long statusExpiresAt;
+        private volatile List<Meter> meters = List.of();
+
+        Compartment(String tenantId, SubscriptionStatus status, int limit, long statusExpiresAt) {
+            this.tenantId = tenantId;
+            this.status = status;
+            this.limit = limit;
+            this.semaphore = new Semaphore(limit, true);
+            this.statusExpiresAt = statusExpiresAt;
+        }
+
+        boolean isIdle() {
+            return semaphore.availablePermits() == limit && !semaphore.hasQueuedThreads();
+        }
+
+        void registerMetrics() {
+            if (!metricsRegistered.compareAndSet(false, true)) {
+                return;
+            }
+            meters = List.of(
+                    Gauge.builder("tenant.bulkhead.queued", semaphore, Semaphore::getQueueLength)
+                            .tag("tenant", tenantId)
+                            .register(registry),
+                    FunctionCounter.builder("tenant.bulkhead.rejected", rejected, LongAdder::sum)
+                            .tag("tenant", tenantId)
+                            .register(registry)
+            );
+        }
+
+        void unregisterMetrics() {
+            meters.forEach(registry::remove);
+        }
+    }
+}
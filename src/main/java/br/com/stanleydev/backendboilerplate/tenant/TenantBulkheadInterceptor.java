@@ -0,0 +1,74 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.organization.service.OrganizationService;
+import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Holds a {@link TenantBulkhead} permit for the whole of each tenant-scoped request.
+ * Requests without a tenant (auth, webhooks) are not limited. A streaming response (e.g. the NDJSON
+ * export) keeps its permit until the async dispatch that finishes it completes.
+ */
+@Component
+public class TenantBulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = TenantBulkheadInterceptor.class.getName() + ".permit";
+
+    private final boolean enabled;
+    private final TenantBulkhead bulkhead;
+
+    public TenantBulkheadInterceptor(
+            @Value("${application.tenant.bulkhead.enabled:false}") boolean enabled,
+            @Value("${application.tenant.bulkhead.max-concurrent.free:6}") int freeLimit,
+            @Value("${application.tenant.bulkhead.max-concurrent.premium:8}") int premiumLimit,
+            @Value("${application.tenant.bulkhead.max-wait-ms:500}") long maxWaitMs,
+            @Value("${application.tenant.bulkhead.status-ttl-ms:60000}") long statusTtlMs,
+            @Value("${application.tenant.bulkhead.max-tenants:10000}") int maxTenants,
+            OrganizationService organizationService,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.bulkhead = new TenantBulkhead(
+                Map.of(SubscriptionStatus.FREE, freeLimit, SubscriptionStatus.PREMIUM, premiumLimit),
+                maxWaitMs,
+                statusTtlMs,
+                maxTenants,
+                organizationService::getSubscriptionStatus,
+                // The application's registry when one is configured (e.g. by actuator), else Micrometer's global one
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)
+        );
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches of a streaming response keep the permit taken by the original request
+        if (!enabled || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId != null) {
+            request.setAttribute(PERMIT_ATTRIBUTE, bulkhead.acquire(tenantId));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof TenantBulkhead.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.close();
+        }
+    }
+}
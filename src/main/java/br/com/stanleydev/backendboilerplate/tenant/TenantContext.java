@@ -1,9 +1,26 @@
 package br.com.stanleydev.backendboilerplate.tenant;
 
+import java.util.concurrent.Callable;
+
+/**
+ * Tenant of the current unit of work.
+ * <p>
+ * Prefer {@link #bind(String)} / {@link #runWithTenant(String, Runnable)} over set/clear. A binding
+ * behaves like a {@code ScopedValue}: closing it restores whatever was bound before, so nested or
+ * re-entrant code can't leak a tenant or wipe an outer one. {@link #wrap(Runnable)} (used by
+ * {@link TenantTaskDecorator} for {@code @Async} work) carries the caller's tenant to another thread.
+ * <p>
+ * The value is held in a ThreadLocal for now: {@code ScopedValue} is a preview API on Java 21, and
+ * only this class needs to change once it is final.
+ */
 public class TenantContext {
 
     private static final ThreadLocal<String> currentTenant = new ThreadLocal<>();
 
+    // Shared instances so the common request path (nothing bound before) allocates nothing
+    private static final Scope NO_OP = () -> { };
+    private static final Scope CLEAR = currentTenant::remove;
+
     public static void setCurrentTenant(String tenantId) {
         currentTenant.set(tenantId);
     }
@@ -15,4 +32,44 @@ public class TenantContext {
     public static void clear() {
         currentTenant.remove();
     }
-}
\ No newline at end of file
+
+    /**
+     * Binds {@code tenantId} until the returned scope is closed. A {@code null} tenant leaves the
+     * current binding untouched.
+     */
+    public static Scope bind(String tenantId) {
+        if (tenantId == null) {
+            return NO_OP;
+        }
+        String previous = currentTenant.get();
+        currentTenant.set(tenantId);
+        return previous == null ? CLEAR : () -> currentTenant.set(previous);
+    }
+
+    public static void runWithTenant(String tenantId, Runnable task) {
+        try (Scope ignored = bind(tenantId)) {
+            task.run();
+        }
+    }
+
+    public static <T> T callWithTenant(String tenantId, Callable<T> task) throws Exception {
+        try (Scope ignored = bind(tenantId)) {
+            return task.call();
+        }
+    }
+
+    /** Captures the caller's tenant and binds it around {@code task} on whichever thread runs it. */
+    public static Runnable wrap(Runnable task) {
+        String tenantId = currentTenant.get();
+        if (tenantId == null) {
+            return task;
+        }
+        return () -> runWithTenant(tenantId, task);
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enables the {@code tenantFilter} on a session for the tenant in {@link TenantContext}.
+ * <p>
+ * Called for every new EntityManager (see {@code PersistenceConfig}), which also covers repository calls
+ * made outside a transaction, and again when a transaction begins (see {@link TenantAwareTransactionManager})
+ * in case the tenant changed since the EntityManager was opened. The filter is
+ * always enabled: without a tenant it is bound to a value no row has, so tenant-aware queries return
+ * nothing instead of every tenant's rows. Re-activating a session for the tenant it already has is skipped.
+ */
+public class TenantFilterActivator {
+
+    public static final String FILTER_NAME = "tenantFilter";
+    public static final String TENANT_PARAMETER = "tenantId";
+
+    // Tenant ids are UUIDs, so the empty string never matches a row
+    static final String NO_TENANT = "";
+
+    private static final String BOUND_TENANT_PROPERTY = "application.tenant-filter.bound-tenant";
+
+    private final LongAdder scoped = new LongAdder();
+    private final LongAdder unscoped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public void activate(Session session) {
+        String tenantId = TenantContext.getCurrentTenant();
+        String bound = tenantId != null ? tenantId : NO_TENANT;
+
+        if (bound.equals(session.getProperties().get(BOUND_TENANT_PROPERTY))
+                && session.getEnabledFilter(FILTER_NAME) != null) {
+            skipped.increment();
+            return;
+        }
+
+        session.enableFilter(FILTER_NAME).setParameter(TENANT_PARAMETER, bound);
+        session.setProperty(BOUND_TENANT_PROPERTY, bound);
+        (tenantId != null ? scoped : unscoped).increment();
+    }
+
+    public long getScopedCount() {
+        return scoped.sum();
+    }
+
+    public long getUnscopedCount() {
+        return unscoped.sum();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    public TenantFilterActivator registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("tenant.filter.activations", scoped, LongAdder::sum)
+                .tag("result", "scoped")
+                .register(registry);
+        FunctionCounter.builder("tenant.filter.activations", unscoped, LongAdder::sum)
+                .tag("result", "unscoped")
+                .register(registry);
+        FunctionCounter.builder("tenant.filter.activations", skipped, LongAdder::sum)
+                .tag("result", "skipped")
+                .register(registry);
+        return this;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Optional Postgres row-level security for tenant tables.
+ * <p>
+ * When enabled, every transaction starts by setting {@code app.tenant_id} transaction-locally (the
+ * {@code set_config(..., true)} form of {@code SET LOCAL}, which accepts a bind parameter), and each
+ * table mapped by a {@link TenantAwareBaseEntity} gets a policy comparing {@code tenant_id} to it.
+ * The database then scopes native SQL, bulk updates and {@code findById}, none of which the Hibernate
+ * filter covers. Without a tenant the setting is empty and no row is visible or writable.
+ * <p>
+ * Policies do not apply to superusers or roles with {@code BYPASSRLS}; the application must connect
+ * with an ordinary role for this mode to isolate anything.
+ */
+@Component
+public class TenantRowLevelSecurity {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantRowLevelSecurity.class);
+
+    static final String SETTING = "app.tenant_id";
+    static final String POLICY_NAME = "tenant_isolation";
+
+    private static final String BIND_SQL = "SELECT set_config('" + SETTING + "', ?, true)";
+    private static final String POLICY_CONDITION = "tenant_id = current_setting('" + SETTING + "', true)";
+
+    private final boolean enabled;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TenantRowLevelSecurity(
+            @Value("${application.tenant.row-level-security.enabled:false}") boolean enabled,
+            EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.enabled = enabled;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Sets the current tenant on the session's connection for the rest of its transaction. */
+    public void bind(Session session) {
+        if (!enabled) {
+            return;
+        }
+        String tenantId = TenantContext.getCurrentTenant();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(BIND_SQL)) {
+                statement.setString(1, tenantId != null ? tenantId : TenantFilterActivator.NO_TENANT);
+                statement.execute();
+            }
+        });
+    }
+
+    // Runs after the schema migrations, which the EntityManagerFactory waits for
+    @PostConstruct
+    void installPolicies() {
+        if (!enabled) {
+            return;
+        }
+
+        Boolean bypassesRls = jdbcTemplate.queryForObject(
+                "SELECT rolsuper OR rolbypassrls FROM pg_roles WHERE rolname = current_user", Boolean.class);
+        if (Boolean.TRUE.equals(bypassesRls)) {
+            log.warn("Row-level security is enabled but the database role bypasses it; tenant policies will not be enforced");
+        }
+
+        for (String table : TenantTables.of(entityManagerFactory)) {
+            // Sent as one implicit transaction, so concurrently starting nodes never see the policy missing
+            jdbcTemplate.execute(String.join("; ", policyStatements(table)));
+            log.info("Row-level security policy {} active on {}", POLICY_NAME, table);
+        }
+    }
+
+    // Recreated on every start so a changed condition is picked up; FORCE makes the policy apply to the table owner too
+    static List<String> policyStatements(String table) {
+        return List.of(
+                "ALTER TABLE " + table + " ENABLE ROW LEVEL SECURITY",
+                "ALTER TABLE " + table + " FORCE ROW LEVEL SECURITY",
+                "DROP POLICY IF EXISTS " + POLICY_NAME + " ON " + table,
+                "CREATE POLICY " + POLICY_NAME + " ON " + table
+                        + " USING (" + POLICY_CONDITION + ") WITH CHECK (" + POLICY_CONDITION + ")"
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.List;
+
+/** Table names of every entity mapped by a {@link TenantAwareBaseEntity} subclass. */
+final class TenantTables {
+
+    private TenantTables() {
+    }
+
+    static List<String> of(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        return entityManagerFactory.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .filter(TenantAwareBaseEntity.class::isAssignableFrom)
+                .map(type -> sessionFactory.getMappingMetamodel().getEntityDescriptor(type).getMappedTableDetails().getTableName())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the submitting thread's tenant into tasks run by Spring's task executors ({@code @Async}).
+ * Spring Boot applies a single {@link TaskDecorator} bean to the auto-configured executor.
+ */
+@Component
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
@@ -1,14 +1,28 @@
 package br.com.stanleydev.backendboilerplate.todo.controller;
 
+import br.com.stanleydev.backendboilerplate.todo.dto.BulkTodoRequest;
+import br.com.stanleydev.backendboilerplate.todo.dto.BulkTodoResponse;
 import br.com.stanleydev.backendboilerplate.todo.dto.CreateTodoRequest;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoImportResponse;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoPageResponse;
 import br.com.stanleydev.backendboilerplate.todo.dto.TodoResponse;
 import br.com.stanleydev.backendboilerplate.todo.dto.UpdateTodoRequest;
+import br.com.stanleydev.backendboilerplate.todo.service.TodoExportService;
+import br.com.stanleydev.backendboilerplate.todo.service.TodoImportFormat;
+import br.com.stanleydev.backendboilerplate.todo.service.TodoImportService;
 import br.com.stanleydev.backendboilerplate.todo.service.TodoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,14 +32,63 @@ import java.util.UUID;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoExportService todoExportService;
+    private final TodoImportService todoImportService;
 
 
+    // Pages in creation order (createdAt, then id); cursors issued before createdAt keyed the pages are rejected with 400
     @GetMapping
+    public ResponseEntity<TodoPageResponse> getTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(todoService.getTodoPage(cursor, size));
+    }
+
+    // Opt-in only: the whole list in one response
+    @GetMapping(params = "unpaged=true")
     public ResponseEntity<List<TodoResponse>> getAllTodos() {
         return ResponseEntity.ok(todoService.getAllTodos());
     }
 
 
+    // Every todo as NDJSON, streamed; gzip-encoded when the client accepts it
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("todos.ndjson").build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(todoExportService.export(gzip));
+    }
+
+
+    // CSV (header with a task column) or NDJSON, read as it arrives; large uploads become a job to poll
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<TodoImportResponse> importTodos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream body
+    ) throws IOException {
+        TodoImportFormat format = TodoImportFormat.fromContentType(contentType);
+        if (todoImportService.runsInBackground(contentLength)) {
+            TodoImportResponse job = todoImportService.submit(body, format);
+            return ResponseEntity.accepted().location(URI.create("/api/todos/import/" + job.getId())).body(job);
+        }
+        return ResponseEntity.ok(todoImportService.importNow(body, format));
+    }
+
+    @GetMapping("/import/{id}")
+    public ResponseEntity<TodoImportResponse> getImport(@PathVariable UUID id) {
+        return ResponseEntity.ok(todoImportService.getJob(id));
+    }
+
+
     @PostMapping
 
     public ResponseEntity<TodoResponse> createTodo(@Valid @RequestBody CreateTodoRequest request) {
@@ -33,6 +96,12 @@ public class TodoController {
         return ResponseEntity.ok(savedTodo);
     }
 
+    // Creates, updates and deletes in one transaction; one result per operation, in request order
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTodoResponse> applyBulk(@Valid @RequestBody BulkTodoRequest request) {
+        return ResponseEntity.ok(todoService.applyBulk(request.getOperations()));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<TodoResponse> updateTodo(
             @PathVariable UUID id,
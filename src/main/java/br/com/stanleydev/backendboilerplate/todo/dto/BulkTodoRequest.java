@@ -0,0 +1,12 @@
+package br.com.stanleydev.backendboilerplate.todo.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTodoRequest {
+    @NotEmpty
+    private List<TodoOperation> operations;
+}
@@ -0,0 +1,12 @@
+package br.com.stanleydev.backendboilerplate.todo.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkTodoResponse {
+    private List<BulkTodoResult> results;
+}
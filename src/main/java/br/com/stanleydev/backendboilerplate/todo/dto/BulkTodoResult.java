@@ -0,0 +1,27 @@
+package br.com.stanleydev.backendboilerplate.todo.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+/** Outcome of one bulk operation, at the same position as the operation in the request. */
+@Data
+@Builder
+public class BulkTodoResult {
+
+    public enum Status { CREATED, UPDATED, DELETED, NOT_FOUND, INVALID }
+
+    private Status status;
+    private UUID id;
+    private TodoResponse todo;
+    private String error;
+
+    public static BulkTodoResult of(Status status, TodoResponse todo) {
+        return BulkTodoResult.builder().status(status).id(todo.getId()).todo(todo).build();
+    }
+
+    public static BulkTodoResult failed(Status status, UUID id, String error) {
+        return BulkTodoResult.builder().status(status).id(id).error(error).build();
+    }
+}
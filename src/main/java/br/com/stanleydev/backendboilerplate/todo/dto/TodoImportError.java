@@ -0,0 +1,11 @@
+package br.com.stanleydev.backendboilerplate.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TodoImportError {
+    private long line;
+    private String message;
+}
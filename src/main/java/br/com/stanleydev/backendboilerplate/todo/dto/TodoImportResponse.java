@@ -0,0 +1,22 @@
+package br.com.stanleydev.backendboilerplate.todo.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Progress or final summary of an import; {@code id} is only set for background jobs. */
+@Data
+@Builder
+public class TodoImportResponse {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private UUID id;
+    private Status status;
+    private long imported;
+    private long rejected;
+    private List<TodoImportError> errors;
+    private String message;
+}
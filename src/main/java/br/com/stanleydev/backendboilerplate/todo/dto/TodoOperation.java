@@ -0,0 +1,23 @@
+package br.com.stanleydev.backendboilerplate.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/** One item of a bulk request: {@code task} for creates, {@code id} for updates and deletes. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoOperation {
+
+    public enum Type { CREATE, UPDATE, DELETE }
+
+    private Type type;
+    private UUID id;
+    private String task;
+    private Boolean completed;
+}
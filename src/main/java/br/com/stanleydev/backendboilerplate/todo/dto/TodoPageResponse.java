@@ -0,0 +1,14 @@
+package br.com.stanleydev.backendboilerplate.todo.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TodoPageResponse {
+    private List<TodoResponse> items;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+}
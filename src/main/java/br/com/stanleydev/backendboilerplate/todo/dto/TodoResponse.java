@@ -1,23 +1,28 @@
 package br.com.stanleydev.backendboilerplate.todo.dto;
 
 import br.com.stanleydev.backendboilerplate.todo.model.Todo;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class TodoResponse {
     private UUID id;
     private String task;
     private boolean completed;
+    private Instant createdAt;
     
     public static TodoResponse fromEntity(Todo todo) {
         return TodoResponse.builder()
                 .id(todo.getId())
                 .task(todo.getTask())
                 .completed(todo.isCompleted())
+                .createdAt(todo.getCreatedAt())
                 .build();
     }
 }
\ No newline at end of file
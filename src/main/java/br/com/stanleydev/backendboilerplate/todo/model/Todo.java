@@ -1,5 +1,6 @@
 package br.com.stanleydev.backendboilerplate.todo.model;
 
+import br.com.stanleydev.backendboilerplate.persistence.GeneratedUuidV7;
 import br.com.stanleydev.backendboilerplate.tenant.TenantAwareBaseEntity;
 import br.com.stanleydev.backendboilerplate.tenant.TenantListener;
 import jakarta.persistence.*;
@@ -7,7 +8,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Data
@@ -15,16 +18,24 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_tenant_id_id", columnList = "tenant_id, id"),
+        @Index(name = "idx_todos_tenant_id_created_at_id", columnList = "tenant_id, created_at, id")
+})
 @EntityListeners(TenantListener.class)
 public class Todo extends TenantAwareBaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(nullable = false)
     private String task;
 
     private boolean completed = false;
+
+    // Listing and export order; ids of rows created before UUIDv7 ids do not follow it
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
 }
\ No newline at end of file
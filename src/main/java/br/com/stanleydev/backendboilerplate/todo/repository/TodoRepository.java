@@ -1,11 +1,42 @@
 package br.com.stanleydev.backendboilerplate.todo.repository;
 
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoResponse;
 import br.com.stanleydev.backendboilerplate.todo.model.Todo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, UUID> {
+
+    // Reads that only need the response fields select them straight into TodoResponse:
+    // no entity is hydrated, snapshotted for dirty checking or kept in the persistence context
+    String SELECT_RESPONSE = "SELECT new br.com.stanleydev.backendboilerplate.todo.dto.TodoResponse(t.id, t.task, t.completed, t.createdAt) FROM Todo t";
+
+    @Query(SELECT_RESPONSE + " ORDER BY t.createdAt, t.id")
+    List<TodoResponse> findAllResponses();
+
+    // Keyset pages in (created_at, id) order, served by idx_todos_tenant_id_created_at_id together with the tenant filter
+    @Query(SELECT_RESPONSE + " ORDER BY t.createdAt, t.id")
+    List<TodoResponse> findResponsePage(Limit limit);
+
+    @Query(SELECT_RESPONSE + " WHERE (t.createdAt, t.id) > (:afterCreatedAt, :afterId) ORDER BY t.createdAt, t.id")
+    List<TodoResponse> findResponsePageAfter(@Param("afterCreatedAt") Instant afterCreatedAt, @Param("afterId") UUID afterId, Limit limit);
+
+    // Server-side cursor for exports: rows arrive in fetch-size chunks and are loaded read-only (no snapshots)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Todo> streamAllByOrderByCreatedAtAscIdAsc();
 }
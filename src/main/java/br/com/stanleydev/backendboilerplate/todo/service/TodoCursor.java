@@ -0,0 +1,44 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque page cursor: the creation time and id of the last todo on the previous page.
+ * Pages are ordered by creation time with the id as the tiebreaker; the id alone is not enough because
+ * rows created before ids became UUIDv7 have random ids.
+ */
+record TodoCursor(Instant createdAt, UUID id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int LENGTH = 24;
+
+    static String encode(Instant createdAt, UUID id) {
+        // Microseconds, the precision of the created_at column
+        return ENCODER.encodeToString(ByteBuffer.allocate(LENGTH)
+                .putLong(ChronoUnit.MICROS.between(Instant.EPOCH, createdAt))
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array());
+    }
+
+    static TodoCursor decode(String cursor) {
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+            if (bytes.length == LENGTH) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                return new TodoCursor(Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS),
+                        new UUID(buffer.getLong(), buffer.getLong()));
+            }
+        } catch (IllegalArgumentException | ArithmeticException ignored) {
+            // Falls through to the error below
+        }
+        throw new BadRequestException("Invalid page cursor");
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoResponse;
+import br.com.stanleydev.backendboilerplate.todo.model.Todo;
+import br.com.stanleydev.backendboilerplate.todo.repository.TodoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams all of a tenant's todos as NDJSON (one JSON object per line) in creation order.
+ * <p>
+ * Rows come from a server-side cursor and each entity is detached once written, so memory use does
+ * not depend on how many todos the tenant has. The body runs after the controller has returned, on
+ * an async thread; it binds the caller's tenant and opens its own read-only transaction there.
+ */
+@Service
+public class TodoExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter lineWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TodoExportService(TodoRepository todoRepository, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.todoRepository = todoRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.lineWriter = objectMapper.writerFor(TodoResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public StreamingResponseBody export(boolean gzip) {
+        String tenantId = TenantContext.getCurrentTenant();
+        return responseStream -> {
+            try (TenantContext.Scope ignored = TenantContext.bind(tenantId)) {
+                OutputStream out = gzip
+                        ? new GZIPOutputStream(responseStream, BUFFER_SIZE)
+                        : new BufferedOutputStream(responseStream, BUFFER_SIZE);
+
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Todo> todos = todoRepository.streamAllByOrderByCreatedAtAscIdAsc()) {
+                        writeNdjson(todos, entityManager::detach, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                if (out instanceof GZIPOutputStream gzipOut) {
+                    gzipOut.finish();
+                }
+                out.flush();
+            }
+        };
+    }
+
+    /** Writes one line per todo, handing each entity to {@code release} once it has been written. Returns the row count. */
+    long writeNdjson(Stream<Todo> todos, Consumer<Todo> release, OutputStream out) throws IOException {
+        JsonGenerator generator = lineWriter.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long rows = 0;
+        for (Todo todo : (Iterable<Todo>) todos::iterator) {
+            lineWriter.writeValue(generator, TodoResponse.fromEntity(todo));
+            generator.writeRaw('\n');
+            release.accept(todo);
+            rows++;
+        }
+        generator.flush();
+        return rows;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum TodoImportFormat {
+    CSV(MediaType.valueOf("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    TodoImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static TodoImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (TodoImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new BadRequestException("Imports must be sent as text/csv or application/x-ndjson");
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoImportError;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoImportResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Live counters of one import, read by pollers while the importing thread updates them. */
+class TodoImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UUID id;
+    private final String tenantId;
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<TodoImportError> errors = new ArrayList<>();
+    private volatile TodoImportResponse.Status status = TodoImportResponse.Status.QUEUED;
+    private volatile String message;
+
+    TodoImportJob(UUID id, String tenantId) {
+        this.id = id;
+        this.tenantId = tenantId;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    String getTenantId() {
+        return tenantId;
+    }
+
+    TodoImportResponse.Status getStatus() {
+        return status;
+    }
+
+    void start() {
+        status = TodoImportResponse.Status.RUNNING;
+    }
+
+    void imported(int rows) {
+        imported.addAndGet(rows);
+    }
+
+    void reject(long line, String error) {
+        // Only the first errors are kept, so a file of bad rows can't grow the job without bound
+        if (rejected.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+            synchronized (errors) {
+                errors.add(new TodoImportError(line, error));
+            }
+        }
+    }
+
+    void complete() {
+        status = TodoImportResponse.Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        message = reason;
+        status = TodoImportResponse.Status.FAILED;
+    }
+
+    TodoImportResponse toResponse() {
+        List<TodoImportError> reported;
+        synchronized (errors) {
+            reported = List.copyOf(errors);
+        }
+        return TodoImportResponse.builder()
+                .id(id)
+                .status(status)
+                .imported(imported.get())
+                .rejected(rejected.get())
+                .errors(reported)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads import rows one line at a time, validating each, so only the current line is ever in memory.
+ * <p>
+ * CSV needs a header row with a {@code task} column and may have a {@code completed} column; quoted
+ * fields follow RFC 4180 but may not span lines. NDJSON is one {@code {"task": ..., "completed": ...}}
+ * object per line. Lines longer than {@code maxLineLength} are skipped and reported as invalid.
+ */
+class TodoImportParser {
+
+    static final int MAX_TASK_LENGTH = 255;
+
+    interface RowHandler {
+        void row(long line, String task, boolean completed);
+
+        void invalid(long line, String message);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int maxLineLength;
+
+    TodoImportParser(ObjectMapper objectMapper, int maxLineLength) {
+        this.objectMapper = objectMapper;
+        this.maxLineLength = maxLineLength;
+    }
+
+    void parse(Reader reader, TodoImportFormat format, RowHandler handler) throws IOException {
+        LineReader lines = new LineReader(reader, maxLineLength);
+        int taskColumn = 0;
+        int completedColumn = -1;
+
+        if (format == TodoImportFormat.CSV) {
+            String header = lines.next();
+            List<String> columns = header != null ? splitCsv(stripBom(header)) : null;
+            if (columns == null || !columns.contains("task")) {
+                handler.invalid(1, "CSV header must contain a task column");
+                return;
+            }
+            taskColumn = columns.indexOf("task");
+            completedColumn = columns.indexOf("completed");
+        }
+
+        String line;
+        while ((line = lines.next()) != null) {
+            long number = lines.number();
+            if (lines.tooLong()) {
+                handler.invalid(number, "line is longer than " + maxLineLength + " characters");
+            } else if (!line.isBlank()) {
+                if (format == TodoImportFormat.CSV) {
+                    parseCsv(number, line, taskColumn, completedColumn, handler);
+                } else {
+                    parseNdjson(number, line, handler);
+                }
+            }
+        }
+    }
+
+    private static void parseCsv(long number, String line, int taskColumn, int completedColumn, RowHandler handler) {
+        List<String> fields = splitCsv(line);
+        if (fields == null) {
+            handler.invalid(number, "unbalanced quotes");
+            return;
+        }
+        String task = taskColumn < fields.size() ? fields.get(taskColumn) : null;
+        String completed = completedColumn >= 0 && completedColumn < fields.size() ? fields.get(completedColumn) : null;
+        accept(number, task, completed, handler);
+    }
+
+    private void parseNdjson(long number, String line, RowHandler handler) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            handler.invalid(number, "malformed JSON");
+            return;
+        }
+        if (!node.isObject()) {
+            handler.invalid(number, "each line must be a JSON object");
+            return;
+        }
+        JsonNode task = node.get("task");
+        JsonNode completed = node.get("completed");
+        if (completed != null && !completed.isNull() && !completed.isBoolean()) {
+            handler.invalid(number, "completed must be true or false");
+            return;
+        }
+        accept(number, task != null && task.isTextual() ? task.asText() : null,
+                completed != null && !completed.isNull() ? completed.asText() : null, handler);
+    }
+
+    private static void accept(long number, String task, String completed, RowHandler handler) {
+        if (task == null || task.isBlank()) {
+            handler.invalid(number, "task is required");
+        } else if (task.length() > MAX_TASK_LENGTH) {
+            handler.invalid(number, "task is longer than " + MAX_TASK_LENGTH + " characters");
+        } else if (completed != null && !completed.isEmpty()
+                && !completed.equalsIgnoreCase("true") && !completed.equalsIgnoreCase("false")) {
+            handler.invalid(number, "completed must be true or false");
+        } else {
+            handler.row(number, task, "true".equalsIgnoreCase(completed));
+        }
+    }
+
+    /** Splits one CSV line; returns {@code null} when a quoted field is not closed. */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /** {@code readLine} with a length cap: an over-long line is consumed but not kept, see {@link #tooLong()}. */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private long number;
+        private boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        long number() {
+            return number;
+        }
+
+        boolean tooLong() {
+            return tooLong;
+        }
+
+        String next() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        if (!read) {
+                            return null;
+                        }
+                        break;
+                    }
+                }
+                read = true;
+                char c = buffer[position++];
+                if (c == '\n') {
+                    break;
+                }
+                if (!tooLong) {
+                    line.append(c);
+                    tooLong = line.length() > maxLength + 1;
+                }
+            }
+            number++;
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            tooLong = tooLong || line.length() > maxLength;
+            return tooLong ? "" : line.toString();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.cache.BoundedExpiringCache;
+import br.com.stanleydev.backendboilerplate.exception.BadRequestException;
+import br.com.stanleydev.backendboilerplate.exception.ResourceNotFoundException;
+import br.com.stanleydev.backendboilerplate.exception.TooManyRequestsException;
+import br.com.stanleydev.backendboilerplate.persistence.UuidV7;
+import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoImportResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports todos from CSV or NDJSON uploads with bounded memory.
+ * <p>
+ * Rows are parsed one line at a time and inserted with plain JDBC batches of {@code batch-size},
+ * each batch in its own transaction: the tenant filter and row-level security are bound as for any
+ * transaction, and {@code tenant_id} is stamped here because {@code TenantListener} does not run on
+ * this path. A failure keeps the batches already committed and is reported in the summary.
+ * <p>
+ * Small uploads are imported within the request. Larger or unsized ones are spooled to a temporary
+ * file and imported by a background job on a small bounded pool; jobs are kept in memory on the
+ * node that ran them for {@code job-retention-ms} after finishing.
+ */
+@Service
+public class TodoImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO todos (id, tenant_id, task, completed) VALUES (?, ?, ?, ?)";
+    private static final int MAX_LINE_LENGTH = 4096;
+    private static final int MAX_JOBS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final TodoImportParser parser;
+    private final int batchSize;
+    private final long syncMaxBytes;
+    private final long maxBytes;
+    private final long jobRetentionMs;
+    private final ThreadPoolExecutor executor;
+    private final BoundedExpiringCache<UUID, TodoImportJob> jobs = new BoundedExpiringCache<>("todo-import-jobs", MAX_JOBS);
+
+    public TodoImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${application.todos.import.batch-size:500}") int batchSize,
+            @Value("${application.todos.import.sync-max-bytes:1048576}") long syncMaxBytes,
+            @Value("${application.todos.import.max-bytes:104857600}") long maxBytes,
+            @Value("${application.todos.import.threads:2}") int threads,
+            @Value("${application.todos.import.queue-capacity:16}") int queueCapacity,
+            @Value("${application.todos.import.job-retention-ms:3600000}") long jobRetentionMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.parser = new TodoImportParser(objectMapper, MAX_LINE_LENGTH);
+        this.batchSize = batchSize;
+        this.syncMaxBytes = syncMaxBytes;
+        this.maxBytes = maxBytes;
+        this.jobRetentionMs = jobRetentionMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "todo-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /** Uploads without a known length, or above {@code sync-max-bytes}, are imported in the background. */
+    public boolean runsInBackground(Long contentLength) {
+        return contentLength == null || contentLength < 0 || contentLength > syncMaxBytes;
+    }
+
+    /** Imports within the calling thread and returns the final summary. */
+    public TodoImportResponse importNow(InputStream body, TodoImportFormat format) {
+        TodoImportJob job = new TodoImportJob(null, requireTenant());
+        run(job, body, format);
+        return job.toResponse();
+    }
+
+    /** Spools the upload to a temporary file and queues its import; poll with {@link #getJob(UUID)}. */
+    public TodoImportResponse submit(InputStream body, TodoImportFormat format) throws IOException {
+        TodoImportJob job = new TodoImportJob(UuidV7.generate(), requireTenant());
+        Path upload = spool(body);
+
+        jobs.put(job.getId(), job, Long.MAX_VALUE);
+        try {
+            executor.execute(TenantContext.wrap(() -> runFromFile(job, upload, format)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(upload);
+            throw new TooManyRequestsException("Too many imports in progress - please try again later");
+        }
+        return job.toResponse();
+    }
+
+    public TodoImportResponse getJob(UUID id) {
+        TodoImportJob job = jobs.get(id);
+        if (job == null || !job.getTenantId().equals(TenantContext.getCurrentTenant())) {
+            throw new ResourceNotFoundException("Import job not found with id: " + id);
+        }
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runFromFile(TodoImportJob job, Path upload, TodoImportFormat format) {
+        try (InputStream in = Files.newInputStream(upload)) {
+            run(job, in, format);
+        } catch (IOException e) {
+            job.fail("Could not read the uploaded file");
+        } finally {
+            jobs.put(job.getId(), job, System.currentTimeMillis() + jobRetentionMs);
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}", upload, e);
+            }
+        }
+    }
+
+    private void run(TodoImportJob job, InputStream body, TodoImportFormat format) {
+        job.start();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        try {
+            Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+            parser.parse(reader, format, new TodoImportParser.RowHandler() {
+                @Override
+                public void row(long line, String task, boolean completed) {
+                    batch.add(new Object[]{UuidV7.generate(), job.getTenantId(), task, completed});
+                    if (batch.size() == batchSize) {
+                        insert(job, batch);
+                    }
+                }
+
+                @Override
+                public void invalid(long line, String message) {
+                    job.reject(line, message);
+                }
+            });
+            insert(job, batch);
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Todo import for tenant {} failed", job.getTenantId(), e);
+            job.fail("Import stopped after an error; rows imported so far were kept");
+        }
+    }
+
+    private void insert(TodoImportJob job, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+        job.imported(batch.size());
+        batch.clear();
+    }
+
+    private Path spool(InputStream body) throws IOException {
+        Path upload = Files.createTempFile("todo-import-", ".upload");
+        try (OutputStream out = Files.newOutputStream(upload)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new BadRequestException("Imports are limited to " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+        return upload;
+    }
+
+    private static String requireTenant() {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant ID is not set in context");
+        }
+        return tenantId;
+    }
+}
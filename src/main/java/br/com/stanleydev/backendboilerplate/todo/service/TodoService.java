@@ -1,17 +1,29 @@
 package br.com.stanleydev.backendboilerplate.todo.service;
 
 import br.com.stanleydev.backendboilerplate.exception.ResourceNotFoundException;
+import br.com.stanleydev.backendboilerplate.exception.BadRequestException;
+import br.com.stanleydev.backendboilerplate.todo.dto.BulkTodoResponse;
+import br.com.stanleydev.backendboilerplate.todo.dto.BulkTodoResult;
 import br.com.stanleydev.backendboilerplate.todo.dto.CreateTodoRequest;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoPageResponse;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoOperation;
 import br.com.stanleydev.backendboilerplate.todo.dto.TodoResponse;
 import br.com.stanleydev.backendboilerplate.todo.dto.UpdateTodoRequest;
 import br.com.stanleydev.backendboilerplate.todo.model.Todo;
 import br.com.stanleydev.backendboilerplate.todo.repository.TodoRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID; // ADD THIS
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,11 +32,52 @@ public class TodoService {
 
     private final TodoRepository todoRepository;
 
+    @Value("${application.todos.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${application.todos.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${application.todos.unpaged.enabled:false}")
+    private boolean unpagedEnabled;
+
+    @Value("${application.todos.bulk.max-operations:1000}")
+    private int maxBulkOperations;
+
+    /** One page in creation order (then id), starting after {@code cursor} (the first page when null). */
+    @Transactional(readOnly = true)
+    public TodoPageResponse getTodoPage(String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        // One extra row tells whether another page follows without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<TodoResponse> todos;
+        if (cursor == null || cursor.isEmpty()) {
+            todos = todoRepository.findResponsePage(limit);
+        } else {
+            TodoCursor after = TodoCursor.decode(cursor);
+            todos = todoRepository.findResponsePageAfter(after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasMore = todos.size() > pageSize;
+        List<TodoResponse> page = hasMore ? todos.subList(0, pageSize) : todos;
+        TodoResponse last = hasMore ? page.get(pageSize - 1) : null;
+        return TodoPageResponse.builder()
+                .items(page)
+                .nextCursor(last != null ? TodoCursor.encode(last.getCreatedAt(), last.getId()) : null)
+                .build();
+    }
+
+    /** Every todo of the tenant in one list; only allowed with {@code application.todos.unpaged.enabled}. */
     @Transactional(readOnly = true)
     public List<TodoResponse> getAllTodos() {
-        return todoRepository.findAll().stream()
-                .map(TodoResponse::fromEntity)
-                .collect(Collectors.toList());
+        if (!unpagedEnabled) {
+            throw new BadRequestException("Unpaged listing is disabled; use the cursor-paged listing");
+        }
+        return todoRepository.findAllResponses();
     }
 
 
@@ -61,4 +114,66 @@ public class TodoService {
 
         todoRepository.deleteById(id);
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Applies the operations in order within one transaction and reports a result per operation.
+     * <p>
+     * Invalid operations and unknown ids are reported and skipped; the rest are written together
+     * when the transaction flushes, as JDBC batches (see {@code hibernate.jdbc.batch_size}).
+     */
+    @Transactional
+    public BulkTodoResponse applyBulk(List<TodoOperation> operations) {
+        if (operations.size() > maxBulkOperations) {
+            throw new BadRequestException("A bulk request may contain at most " + maxBulkOperations + " operations");
+        }
+
+        // Rows touched by updates and deletes are loaded with one query instead of one per operation
+        Set<UUID> ids = operations.stream()
+                .filter(operation -> operation.getType() != TodoOperation.Type.CREATE && operation.getId() != null)
+                .map(TodoOperation::getId)
+                .collect(Collectors.toSet());
+        Map<UUID, Todo> existing = ids.isEmpty()
+                ? new HashMap<>()
+                : todoRepository.findAllById(ids).stream().collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+        List<BulkTodoResult> results = new ArrayList<>(operations.size());
+        for (TodoOperation operation : operations) {
+            results.add(apply(operation, existing));
+        }
+        return BulkTodoResponse.builder().results(results).build();
+    }
+
+    private BulkTodoResult apply(TodoOperation operation, Map<UUID, Todo> existing) {
+        if (operation.getType() == null) {
+            return BulkTodoResult.failed(BulkTodoResult.Status.INVALID, operation.getId(), "type is required");
+        }
+        if (operation.getType() == TodoOperation.Type.CREATE) {
+            if (operation.getTask() == null || operation.getTask().isEmpty()) {
+                return BulkTodoResult.failed(BulkTodoResult.Status.INVALID, null, "task is required");
+            }
+            Todo newTodo = new Todo();
+            newTodo.setTask(operation.getTask());
+            newTodo.setCompleted(Boolean.TRUE.equals(operation.getCompleted()));
+            return BulkTodoResult.of(BulkTodoResult.Status.CREATED, TodoResponse.fromEntity(todoRepository.save(newTodo)));
+        }
+
+        if (operation.getId() == null) {
+            return BulkTodoResult.failed(BulkTodoResult.Status.INVALID, null, "id is required");
+        }
+        Todo todo = existing.get(operation.getId());
+        if (todo == null) {
+            return BulkTodoResult.failed(BulkTodoResult.Status.NOT_FOUND, operation.getId(), "Todo not found with id: " + operation.getId());
+        }
+
+        if (operation.getType() == TodoOperation.Type.DELETE) {
+            existing.remove(todo.getId());
+            todoRepository.delete(todo);
+            return BulkTodoResult.builder().status(BulkTodoResult.Status.DELETED).id(todo.getId()).build();
+        }
+        if (operation.getCompleted() != null) {
+            todo.setCompleted(operation.getCompleted());
+        }
+        return BulkTodoResult.of(BulkTodoResult.Status.UPDATED, TodoResponse.fromEntity(todo));
+    }
+}
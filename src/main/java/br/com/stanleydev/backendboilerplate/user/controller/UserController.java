@@ -20,7 +20,7 @@ public class UserController {
 
     @GetMapping("/my-profile")
     public ResponseEntity<UserResponse> getMyProfile(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(userService.mapToUserResponse(user));
+        return ResponseEntity.ok(userService.getMyProfile(user));
     }
 
     @PutMapping("/my-profile")
@@ -1,7 +1,9 @@
 package br.com.stanleydev.backendboilerplate.user.model;
 
+import br.com.stanleydev.backendboilerplate.persistence.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,7 +11,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
-import java.time.Instant;
 
 @Data
 @Builder
@@ -22,7 +23,7 @@ import java.time.Instant;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
 
@@ -43,17 +44,11 @@ public class User implements UserDetails {
     private Role role;
 
 
-    @Column(nullable = true, length = 512)
-    private String refreshToken;
-
-    @Column(nullable = true)
-    private Instant refreshTokenExpiry;
-
-    @Column(nullable = true)
-    private String passwordResetToken;
-
-    @Column(nullable = true)
-    private Instant passwordResetTokenExpiry;
+    // Embedded in access tokens; bumped to revoke every token issued before it
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenVersion = 0;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
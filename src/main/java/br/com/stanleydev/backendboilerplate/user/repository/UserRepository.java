@@ -11,8 +11,4 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
-
-    Optional<User> findByRefreshToken(String refreshToken);
-
-    Optional<User> findByPasswordResetToken(String passwordResetToken);
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package br.com.stanleydev.backendboilerplate.user.service;
 
+import br.com.stanleydev.backendboilerplate.exception.ResourceNotFoundException;
 import br.com.stanleydev.backendboilerplate.user.dto.UpdateUserRequest;
 import br.com.stanleydev.backendboilerplate.user.dto.UserResponse;
 import br.com.stanleydev.backendboilerplate.user.model.User;
 import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserCache principalCache;
 
     public UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
@@ -23,8 +26,15 @@ public class UserService {
                 .build();
     }
 
+    // The principal may be built from token claims only, so profile data is always read from the database
+    @Transactional(readOnly = true)
+    public UserResponse getMyProfile(User principal) {
+        return mapToUserResponse(findById(principal));
+    }
+
     @Transactional
-    public UserResponse updateUserProfile(User user, UpdateUserRequest request) {
+    public UserResponse updateUserProfile(User principal, UpdateUserRequest request) {
+        User user = findById(principal);
         if (request.getFirstName() != null) {
             user.setFirstName(request.getFirstName());
         }
@@ -33,6 +43,12 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
+        principalCache.removeUserFromCache(savedUser.getEmail());
         return mapToUserResponse(savedUser);
     }
-}
\ No newline at end of file
+
+    private User findById(User principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + principal.getId()));
+    }
+}
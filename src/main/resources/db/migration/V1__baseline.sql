@@ -0,0 +1,78 @@
+-- Schema as previously created by ddl-auto=update.
+-- IF NOT EXISTS lets databases that Hibernate already created take this as their baseline unchanged.
+
+CREATE TABLE IF NOT EXISTS users (
+    id uuid NOT NULL,
+    first_name varchar(255) NOT NULL,
+    last_name varchar(255) NOT NULL,
+    email varchar(255) NOT NULL UNIQUE,
+    password_hash varchar(255) NOT NULL,
+    role varchar(255) NOT NULL CHECK (role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    token_version integer NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS organizations (
+    id uuid NOT NULL,
+    tenant_id varchar(255) NOT NULL UNIQUE,
+    name varchar(255) NOT NULL,
+    stripe_customer_id varchar(255) UNIQUE,
+    subscription_status varchar(255) NOT NULL CHECK (subscription_status IN ('FREE', 'PREMIUM')),
+    owner_user_id uuid NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS memberships (
+    id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    organization_id uuid NOT NULL,
+    role varchar(255) NOT NULL CHECK (role IN ('OWNER', 'ADMIN', 'MEMBER')),
+    PRIMARY KEY (id),
+    UNIQUE (user_id, organization_id),
+    CONSTRAINT fk_memberships_organization FOREIGN KEY (organization_id) REFERENCES organizations (id),
+    CONSTRAINT fk_memberships_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS todos (
+    id uuid NOT NULL,
+    tenant_id varchar(255) NOT NULL,
+    task varchar(255) NOT NULL,
+    completed boolean NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_todos_organization FOREIGN KEY (tenant_id) REFERENCES organizations (tenant_id)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id uuid NOT NULL,
+    token_hash varchar(64) NOT NULL UNIQUE,
+    user_id uuid NOT NULL,
+    tenant_id varchar(255),
+    expires_at timestamp(6) with time zone NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS password_reset_tokens (
+    id uuid NOT NULL,
+    token_hash varchar(64) NOT NULL UNIQUE,
+    user_id uuid NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_password_reset_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS rate_limit_windows (
+    bucket_key varchar(64) NOT NULL,
+    window_start bigint NOT NULL,
+    expires_at bigint NOT NULL,
+    permits integer NOT NULL,
+    PRIMARY KEY (bucket_key, window_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_user_id ON password_reset_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expires_at ON password_reset_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_rate_limit_windows_expires_at ON rate_limit_windows (expires_at);
@@ -0,0 +1,8 @@
+-- memberships(user_id), organizations(stripe_customer_id) and the token_hash columns are already
+-- served by their unique constraints' indexes, which lead with those columns.
+
+-- Tenant todo lists: the tenant filter / RLS predicate, in id (creation) order
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_id_id ON todos (tenant_id, id);
+
+-- Owner and member lookups per organization (findByOrganizationIdAndRole)
+CREATE INDEX IF NOT EXISTS idx_memberships_organization_id_role ON memberships (organization_id, role);
@@ -0,0 +1,11 @@
+-- Databases first created by ddl-auto=update already had a users table, so V1 left it as it was: without
+-- token_version, and with the refresh and password-reset tokens of the old schema still stored in the clear.
+-- Sessions and reset links now live hashed in refresh_tokens / password_reset_tokens; the old values are
+-- dropped rather than migrated, so affected users sign in again and re-request a pending reset.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version integer NOT NULL DEFAULT 0;
+
+ALTER TABLE users
+    DROP COLUMN IF EXISTS refresh_token,
+    DROP COLUMN IF EXISTS refresh_token_expiry,
+    DROP COLUMN IF EXISTS password_reset_token,
+    DROP COLUMN IF EXISTS password_reset_token_expiry;
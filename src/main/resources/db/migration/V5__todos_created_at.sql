@@ -0,0 +1,39 @@
+-- Creation time of each todo, the key of the cursor-paged listing. Ids only follow creation order for rows
+-- written since ids became UUIDv7; older rows may have random (v4) ids, so new todos could sort before them
+-- and be skipped by a client paging with an older cursor.
+--
+-- Existing rows are backfilled in place: a v7 id carries its creation millisecond, which is used as is;
+-- rows with any other id get the time of this migration and, among themselves, keep their id order.
+-- The update rewrites every row of todos while the migration holds its lock: on a large table, apply it
+-- in a maintenance window.
+DO $$
+DECLARE
+    force_row_security boolean;
+BEGIN
+    ALTER TABLE todos ADD COLUMN IF NOT EXISTS created_at timestamp(6) with time zone;
+
+    -- This session has no app.tenant_id, so a forced row-level security policy would hide every row
+    -- from the backfill: lift it for the update only
+    SELECT relforcerowsecurity INTO force_row_security FROM pg_class WHERE oid = 'todos'::regclass;
+    ALTER TABLE todos NO FORCE ROW LEVEL SECURITY;
+
+    UPDATE todos
+    SET created_at = CASE
+        WHEN substring(id::text, 15, 1) = '7'
+            THEN to_timestamp(('x' || lpad(substring(id::text, 1, 8) || substring(id::text, 10, 4), 16, '0'))::bit(64)::bigint / 1000.0)
+        ELSE now()
+    END
+    WHERE created_at IS NULL;
+
+    IF force_row_security THEN
+        ALTER TABLE todos FORCE ROW LEVEL SECURITY;
+    END IF;
+
+    ALTER TABLE todos
+        ALTER COLUMN created_at SET DEFAULT now(),
+        ALTER COLUMN created_at SET NOT NULL;
+END
+$$;
+
+-- Tenant todo lists in (created_at, id) order: the tenant filter / RLS predicate, then the page key
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_id_created_at_id ON todos (tenant_id, created_at, id);
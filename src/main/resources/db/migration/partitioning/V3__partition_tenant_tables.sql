@@ -0,0 +1,88 @@
+-- Stores todos hash-partitioned by tenant_id, so the tenant filter / RLS predicate touches one of 16
+-- partitions. Only applied with application.tenant.partitioning.enabled=true (off by default).
+--
+-- The copy holds ACCESS EXCLUSIVE on todos until this migration commits, and the node applying it does not
+-- start serving until then: on a large existing table, enable it in a maintenance window.
+--
+-- Postgres requires the partition key in every unique index, so the primary key becomes (id, tenant_id);
+-- ids are still unique on their own. Lookups by id alone (findById, existsById, update and delete by id)
+-- can then no longer be pruned to one partition and probe the index of all 16.
+--
+-- Secondary indexes and foreign keys are carried over as the existing table has them, so a database
+-- without fk_todos_organization (e.g. one first created by ddl-auto) does not gain it here.
+-- A table that is already partitioned is left as it is.
+DO $$
+DECLARE
+    row_security boolean;
+    force_row_security boolean;
+    index_definitions text[];
+    foreign_keys text[];
+    definition text;
+    existing_policy record;
+    source_rows bigint;
+    copied_rows bigint;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('todos')) IS DISTINCT FROM 'r' THEN
+        RETURN;
+    END IF;
+
+    SELECT relrowsecurity, relforcerowsecurity INTO row_security, force_row_security
+    FROM pg_class WHERE oid = 'todos'::regclass;
+    -- Read while the table is still called todos, so the definitions name the new one
+    SELECT coalesce(array_agg(pg_get_indexdef(indexrelid)), '{}') INTO index_definitions
+    FROM pg_index WHERE indrelid = 'todos'::regclass AND NOT indisprimary;
+    SELECT coalesce(array_agg(format('ALTER TABLE todos ADD CONSTRAINT %I %s', conname, pg_get_constraintdef(oid))), '{}')
+    INTO foreign_keys
+    FROM pg_constraint WHERE conrelid = 'todos'::regclass AND contype = 'f';
+
+    ALTER TABLE todos RENAME TO todos_unpartitioned;
+    -- Row-level security (application.tenant.row-level-security) moves with the rename. This session has
+    -- no app.tenant_id, so the policy would hide every row from the copy below: lift it for the copy.
+    ALTER TABLE todos_unpartitioned NO FORCE ROW LEVEL SECURITY;
+    ALTER TABLE todos_unpartitioned DISABLE ROW LEVEL SECURITY;
+
+    CREATE TABLE todos (LIKE todos_unpartitioned INCLUDING DEFAULTS) PARTITION BY HASH (tenant_id);
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE todos_p%s PARTITION OF todos FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       remainder, remainder);
+    END LOOP;
+
+    SELECT count(*) INTO source_rows FROM todos_unpartitioned;
+    -- LIKE keeps the column order, including columns added by later migrations
+    INSERT INTO todos SELECT * FROM todos_unpartitioned;
+    GET DIAGNOSTICS copied_rows = ROW_COUNT;
+    IF copied_rows <> source_rows THEN
+        RAISE EXCEPTION 'Copied % of % todos rows; keeping the unpartitioned table', copied_rows, source_rows;
+    END IF;
+
+    -- Policies are recreated on the new table so it is never readable without them
+    FOR existing_policy IN
+        SELECT polname, polpermissive, polcmd,
+               pg_get_expr(polqual, polrelid) AS using_expression,
+               pg_get_expr(polwithcheck, polrelid) AS check_expression
+        FROM pg_policy WHERE polrelid = 'todos_unpartitioned'::regclass
+    LOOP
+        EXECUTE format('CREATE POLICY %I ON todos AS %s FOR %s%s%s',
+                       existing_policy.polname,
+                       CASE WHEN existing_policy.polpermissive THEN 'PERMISSIVE' ELSE 'RESTRICTIVE' END,
+                       CASE existing_policy.polcmd WHEN 'r' THEN 'SELECT' WHEN 'a' THEN 'INSERT' WHEN 'w' THEN 'UPDATE'
+                                          WHEN 'd' THEN 'DELETE' ELSE 'ALL' END,
+                       CASE WHEN existing_policy.using_expression IS NULL THEN '' ELSE ' USING (' || existing_policy.using_expression || ')' END,
+                       CASE WHEN existing_policy.check_expression IS NULL THEN '' ELSE ' WITH CHECK (' || existing_policy.check_expression || ')' END);
+    END LOOP;
+    IF row_security THEN
+        ALTER TABLE todos ENABLE ROW LEVEL SECURITY;
+    END IF;
+    IF force_row_security THEN
+        ALTER TABLE todos FORCE ROW LEVEL SECURITY;
+    END IF;
+
+    -- Index and constraint names are free again once the old table is gone
+    DROP TABLE todos_unpartitioned;
+
+    ALTER TABLE todos ADD CONSTRAINT todos_pkey PRIMARY KEY (id, tenant_id);
+    FOREACH definition IN ARRAY index_definitions || foreign_keys LOOP
+        EXECUTE definition;
+    END LOOP;
+END
+$$;
@@ -1,11 +1,15 @@
 package br.com.stanleydev.backendboilerplate.auth.controller;
 
+import br.com.stanleydev.backendboilerplate.auth.dto.LoginRequest;
 import br.com.stanleydev.backendboilerplate.auth.dto.RegisterRequest;
 import br.com.stanleydev.backendboilerplate.organization.repository.MembershipRepository; // Added
 import br.com.stanleydev.backendboilerplate.organization.repository.OrganizationRepository; // Added
 import br.com.stanleydev.backendboilerplate.user.model.User;
 import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest // Loads the entire application context
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true") // Loads the entire application context
 @AutoConfigureMockMvc // Gives us a MockMvc instance to make fake HTTP requests
 class AuthControllerIntegrationTest {
 
@@ -36,6 +40,8 @@ class AuthControllerIntegrationTest {
     private OrganizationRepository organizationRepository; // Added
     @Autowired
     private MembershipRepository membershipRepository; // Added
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     // Clean up the database after each test
     // Added @Transactional to ensure deletion happens within a transaction
@@ -132,5 +138,39 @@ class AuthControllerIntegrationTest {
         assertThat(userRepository.findByEmail("fail-user@example.com")).isEmpty();
     }
 
-    // TODO: Add integration tests for login, refreshToken, forgotPassword, resetPassword
+    @Test
+    void login_shouldRunThreeStatements() throws Exception {
+        // --- ARRANGE ---
+        RegisterRequest registerRequest = RegisterRequest.builder()
+                .firstName("Login")
+                .lastName("User")
+                .email("login-user@example.com")
+                .password("ValidPassword123")
+                .build();
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = LoginRequest.builder()
+                .email("login-user@example.com")
+                .password("ValidPassword123")
+                .build();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // --- ACT & ASSERT ---
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+
+        // User lookup for the password check, membership/organization projection, refresh-token insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    // TODO: Add integration tests for refreshToken, forgotPassword, resetPassword
 }
@@ -4,6 +4,7 @@ import br.com.stanleydev.backendboilerplate.auth.dto.AuthResponse;
 import br.com.stanleydev.backendboilerplate.auth.dto.LoginRequest;
 import br.com.stanleydev.backendboilerplate.auth.dto.RefreshTokenRequest;
 import br.com.stanleydev.backendboilerplate.auth.dto.RegisterRequest;
+import br.com.stanleydev.backendboilerplate.auth.model.RefreshToken;
 import br.com.stanleydev.backendboilerplate.email.EmailService; // Ensure EmailService is imported if used in other tests
 import br.com.stanleydev.backendboilerplate.exception.EmailAlreadyExistsException;
 import br.com.stanleydev.backendboilerplate.exception.ResourceNotFoundException;
@@ -13,7 +14,8 @@ import br.com.stanleydev.backendboilerplate.organization.model.OrganizationRole;
 import br.com.stanleydev.backendboilerplate.organization.repository.MembershipRepository;
 import br.com.stanleydev.backendboilerplate.organization.repository.OrganizationRepository;
 import br.com.stanleydev.backendboilerplate.security.JwtService;
-import br.com.stanleydev.backendboilerplate.tenant.TenantContext; // Needed for refresh token test
+import br.com.stanleydev.backendboilerplate.security.TokenVersionRegistry;
+import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
 import br.com.stanleydev.backendboilerplate.user.model.Role;
 import br.com.stanleydev.backendboilerplate.user.model.User;
 import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
@@ -24,20 +26,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic; // Needed for TenantContext
-import org.mockito.Mockito; // Needed for TenantContext
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication; // Import Authentication
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import br.com.stanleydev.backendboilerplate.auth.dto.ForgotPasswordRequest; // Ensure this is imported if used
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -67,6 +67,14 @@ class AuthServiceTest {
     @Mock
     private EmailService emailService; // Added for forgot password test
     @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+    @Mock
+    private UserCache principalCache;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Mock
+    private PasswordResetTokenService passwordResetTokenService;
+    @Mock
     private Authentication authentication; // Mock the return type of authenticate
 
     // Inject mocks into the service under test
@@ -139,7 +147,6 @@ class AuthServiceTest {
     @Test
     void register_shouldSucceed_whenEmailIsNotTaken() {
         // Arrange
-        when(userRepository.findByEmail(registerRequest.getEmail())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("hashed-password");
 
         // --- Mock saving User ---
@@ -148,15 +155,7 @@ class AuthServiceTest {
         final UUID generatedUserId = UUID.randomUUID(); // Generate ID upfront
         when(userRepository.save(userCaptor.capture())).thenAnswer(invocation -> {
             User userToSave = invocation.getArgument(0);
-            // Simulate setting ID only if it's null (first save)
-            if (userToSave.getId() == null) {
-                userToSave.setId(generatedUserId);
-            }
-            // Simulate setting refresh token on the second save call
-            if (userCaptor.getAllValues().size() > 1) {
-                userToSave.setRefreshToken("mock-refresh-token");
-                userToSave.setRefreshTokenExpiry(Instant.now().plus(7, ChronoUnit.DAYS));
-            }
+            userToSave.setId(generatedUserId);
             return userToSave;
         });
 
@@ -182,8 +181,7 @@ class AuthServiceTest {
 
         // Mock token generation (now requires tenantId)
         when(jwtService.generateAccessToken(any(User.class), anyString())).thenReturn("mock-access-token");
-        when(jwtService.generateRefreshToken(any(User.class))).thenReturn("mock-refresh-token");
-        when(jwtService.getRefreshTokenExpiry()).thenReturn(Instant.now().plus(7, ChronoUnit.DAYS));
+        when(refreshTokenService.issue(any(User.class), anyString())).thenReturn("mock-refresh-token");
 
 
         // Act
@@ -195,20 +193,23 @@ class AuthServiceTest {
         assertThat(response.getRefreshToken()).isEqualTo("mock-refresh-token");
 
         // Verify saves
-        verify(userRepository, times(2)).save(any(User.class)); // Saved twice
+        verify(userRepository, times(1)).save(any(User.class)); // Refresh token lives in its own table now
         verify(organizationRepository, times(1)).save(any(Organization.class));
         verify(membershipRepository, times(1)).save(any(Membership.class));
 
+        // Relies on the unique constraint instead of a pre-select, and flushes the inserts once
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, times(1)).flush();
+
         // Assert captured entities
-        User initialUser = userCaptor.getAllValues().get(0); // User passed to first save
-        User finalUser = userCaptor.getAllValues().get(1); // User passed to second save
+        User initialUser = userCaptor.getValue();
+        User finalUser = userCaptor.getValue();
         Organization savedOrg = orgCaptor.getValue(); // Org passed to save
         Membership savedMembership = membershipCaptor.getValue(); // Membership passed to save
 
         assertThat(finalUser.getEmail()).isEqualTo(registerRequest.getEmail());
         assertThat(finalUser.getFirstName()).isEqualTo(registerRequest.getFirstName());
         assertThat(finalUser.getPasswordHash()).isEqualTo("hashed-password");
-        assertThat(finalUser.getRefreshToken()).isEqualTo("mock-refresh-token"); // Check refresh token was set on final save
 
         assertThat(savedOrg.getName()).isEqualTo("Test's Workspace");
         assertThat(savedOrg.getTenantId()).isNotNull();
@@ -222,20 +223,27 @@ class AuthServiceTest {
 
         // Verify token generation was called with captured tenantId
         verify(jwtService).generateAccessToken(any(User.class), eq(savedOrg.getTenantId()));
+        verify(refreshTokenService).issue(any(User.class), eq(savedOrg.getTenantId()));
     }
 
     @Test
     void register_shouldFail_whenEmailIsTaken() {
         // Arrange
-        when(userRepository.findByEmail(registerRequest.getEmail())).thenReturn(Optional.of(new User()));
+        // The unique constraint on users.email fails the flush
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User userToSave = invocation.getArgument(0);
+            userToSave.setId(UUID.randomUUID());
+            return userToSave;
+        });
+        when(organizationRepository.save(any(Organization.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .when(userRepository).flush();
 
         // Act & Assert
         assertThrows(EmailAlreadyExistsException.class, () -> authService.register(registerRequest));
 
-        // Verify no saves occurred
-        verify(userRepository, never()).save(any(User.class));
-        verify(organizationRepository, never()).save(any(Organization.class));
-        verify(membershipRepository, never()).save(any(Membership.class));
+        // Verify no pre-select was made
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     // --- Login Tests ---
@@ -247,19 +255,15 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication); // Return the mocked Authentication object
 
-        // 2. Mock finding the user
-        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
-
-        // 3. Mock finding the membership
-        when(membershipRepository.findByUserId(testUser.getId())).thenReturn(List.of(testMembership));
+        // 2. The authenticated principal is the loaded user
+        when(authentication.getPrincipal()).thenReturn(testUser);
 
-        // 4. Mock finding the organization
-        when(organizationRepository.findById(testMembership.getOrganizationId())).thenReturn(Optional.of(testOrganization));
+        // 3. Mock the single membership/organization projection
+        when(membershipRepository.findPrimaryTenantIdByUserId(testUser.getId())).thenReturn(Optional.of(testOrganization.getTenantId()));
 
-        // 5. Mock token generation
+        // 4. Mock token generation
         when(jwtService.generateAccessToken(testUser, testOrganization.getTenantId())).thenReturn("mock-access-token");
-        when(jwtService.generateRefreshToken(testUser)).thenReturn("mock-refresh-token");
-        when(jwtService.getRefreshTokenExpiry()).thenReturn(Instant.now().plus(7, ChronoUnit.DAYS));
+        when(refreshTokenService.issue(testUser, testOrganization.getTenantId())).thenReturn("mock-refresh-token");
 
         // Act
         AuthResponse response = authService.login(loginRequest);
@@ -269,9 +273,12 @@ class AuthServiceTest {
         assertThat(response.getToken()).isEqualTo("mock-access-token");
         assertThat(response.getRefreshToken()).isEqualTo("mock-refresh-token");
 
-        // Verify user was saved (to update refresh token)
-        verify(userRepository, times(1)).save(testUser);
-        assertThat(testUser.getRefreshToken()).isEqualTo("mock-refresh-token");
+        // The session is stored as a refresh-token row; the user row is not rewritten
+        verify(refreshTokenService, times(1)).issue(testUser, testOrganization.getTenantId());
+        verify(userRepository, never()).save(any(User.class));
+        // The user is not loaded again and the organization is not fetched separately
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(organizationRepository, never()).findById(any(UUID.class));
     }
 
     @Test
@@ -281,14 +288,14 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication); // Still needs to succeed auth first
 
-        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
-        when(membershipRepository.findByUserId(testUser.getId())).thenReturn(Collections.emptyList()); // No memberships
+        when(authentication.getPrincipal()).thenReturn(testUser);
+        when(membershipRepository.findPrimaryTenantIdByUserId(testUser.getId())).thenReturn(Optional.empty()); // No memberships
 
         // Act & Assert
         assertThrows(IllegalStateException.class, () -> authService.login(loginRequest));
 
-        // Verify user was NOT saved
-        verify(userRepository, never()).save(any(User.class));
+        // Verify no session was opened
+        verify(refreshTokenService, never()).issue(any(User.class), anyString());
     }
 
     @Test
@@ -301,9 +308,7 @@ class AuthServiceTest {
         assertThrows(BadCredentialsException.class, () -> authService.login(loginRequest));
 
         // Verify nothing else was called
-        verify(userRepository, never()).findByEmail(anyString());
-        verify(membershipRepository, never()).findByUserId(any(UUID.class));
-        verify(organizationRepository, never()).findById(any(UUID.class));
+        verify(membershipRepository, never()).findPrimaryTenantIdByUserId(any(UUID.class));
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -311,87 +316,59 @@ class AuthServiceTest {
     // --- Refresh Token Tests ---
 
     @Test
-    void refreshToken_shouldSucceed_withValidTokenAndTenantContext() {
-        // Arrange
-        testUser.setRefreshToken("valid-refresh-token");
-        testUser.setRefreshTokenExpiry(Instant.now().plus(1, ChronoUnit.DAYS));
-        String existingTenantId = testOrganization.getTenantId(); // Use a realistic tenant ID
-
-        when(userRepository.findByRefreshToken("valid-refresh-token")).thenReturn(Optional.of(testUser));
-        when(jwtService.generateAccessToken(testUser, existingTenantId)).thenReturn("new-access-token");
-        when(jwtService.generateRefreshToken(testUser)).thenReturn("new-refresh-token");
-        when(jwtService.getRefreshTokenExpiry()).thenReturn(Instant.now().plus(7, ChronoUnit.DAYS));
-
-        // --- Mock TenantContext ---
-        // Since TenantContext uses static methods, we need Mockito's static mocking
-        try (MockedStatic<TenantContext> mockedTenantContext = Mockito.mockStatic(TenantContext.class)) {
-            mockedTenantContext.when(TenantContext::getCurrentTenant).thenReturn(existingTenantId);
-
-            // Act
-            AuthResponse response = authService.refreshToken(refreshTokenRequest);
-
-            // Assert
-            assertThat(response).isNotNull();
-            assertThat(response.getToken()).isEqualTo("new-access-token");
-            assertThat(response.getRefreshToken()).isEqualTo("new-refresh-token");
-
-            // Verify user was saved with new tokens
-            verify(userRepository, times(1)).save(testUser);
-            assertThat(testUser.getRefreshToken()).isEqualTo("new-refresh-token");
-        } // Static mock is automatically closed here
-    }
-
-    @Test
-    void refreshToken_shouldFail_whenTenantContextIsNull() {
+    void refreshToken_shouldSucceed_usingTenantStoredWithSession() {
         // Arrange
-        testUser.setRefreshToken("valid-refresh-token");
-        testUser.setRefreshTokenExpiry(Instant.now().plus(1, ChronoUnit.DAYS));
-        when(userRepository.findByRefreshToken("valid-refresh-token")).thenReturn(Optional.of(testUser));
+        String storedTenantId = testOrganization.getTenantId();
+        RefreshToken session = RefreshToken.builder()
+                .userId(testUser.getId())
+                .user(testUser)
+                .tenantId(storedTenantId)
+                .expiresAt(Instant.now().plus(1, ChronoUnit.DAYS))
+                .build();
 
-        // Mock TenantContext to return null
-        try (MockedStatic<TenantContext> mockedTenantContext = Mockito.mockStatic(TenantContext.class)) {
-            mockedTenantContext.when(TenantContext::getCurrentTenant).thenReturn(null); // No tenant in context
+        when(refreshTokenService.consume("valid-refresh-token")).thenReturn(session);
+        when(jwtService.generateAccessToken(testUser, storedTenantId)).thenReturn("new-access-token");
+        when(refreshTokenService.issue(testUser, storedTenantId)).thenReturn("new-refresh-token");
 
-            // Act & Assert
-            // Expect BadCredentialsException because the service throws it when tenantId is missing
-            assertThrows(BadCredentialsException.class, () -> authService.refreshToken(refreshTokenRequest));
-        }
+        // Act
+        AuthResponse response = authService.refreshToken(refreshTokenRequest);
 
-        // Verify user was NOT saved
+        // Assert
+        assertThat(response.getToken()).isEqualTo("new-access-token");
+        assertThat(response.getRefreshToken()).isEqualTo("new-refresh-token");
         verify(userRepository, never()).save(any(User.class));
     }
 
-
     @Test
-    void refreshToken_shouldFail_whenTokenIsExpired() {
+    void refreshToken_shouldFail_whenSessionHasNoTenant() {
         // Arrange
-        testUser.setRefreshToken("expired-refresh-token");
-        testUser.setRefreshTokenExpiry(Instant.now().minus(1, ChronoUnit.DAYS)); // Expired yesterday
-        refreshTokenRequest.setRefreshToken("expired-refresh-token");
-
-        when(userRepository.findByRefreshToken("expired-refresh-token")).thenReturn(Optional.of(testUser));
+        RefreshToken session = RefreshToken.builder()
+                .userId(testUser.getId())
+                .user(testUser)
+                .expiresAt(Instant.now().plus(1, ChronoUnit.DAYS))
+                .build();
+        when(refreshTokenService.consume("valid-refresh-token")).thenReturn(session);
+        // A tenant bound to the request must not be used instead of the session's own
+        TenantContext.setCurrentTenant(testOrganization.getTenantId());
 
         // Act & Assert
         assertThrows(BadCredentialsException.class, () -> authService.refreshToken(refreshTokenRequest));
 
-        // Verify user was saved (to clear the expired token)
-        verify(userRepository, times(1)).save(testUser);
-        assertThat(testUser.getRefreshToken()).isNull();
-        assertThat(testUser.getRefreshTokenExpiry()).isNull();
+        // Verify no new session was opened
+        verify(refreshTokenService, never()).issue(any(User.class), anyString());
     }
 
     @Test
-    void refreshToken_shouldFail_whenTokenIsInvalid() {
+    void refreshToken_shouldFail_whenTokenIsInvalidOrExpired() {
         // Arrange
         refreshTokenRequest.setRefreshToken("invalid-token");
-        when(userRepository.findByRefreshToken("invalid-token")).thenReturn(Optional.empty());
+        when(refreshTokenService.consume("invalid-token")).thenThrow(new BadCredentialsException("Invalid refresh token"));
 
         // Act & Assert
         assertThrows(BadCredentialsException.class, () -> authService.refreshToken(refreshTokenRequest));
 
-        // Verify user was NOT saved
-        verify(userRepository, never()).save(any(User.class));
+        // Verify no new session was opened
+        verify(refreshTokenService, never()).issue(any(User.class), anyString());
     }
 
 }
-
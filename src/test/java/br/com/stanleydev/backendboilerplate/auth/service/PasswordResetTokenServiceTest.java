@@ -0,0 +1,81 @@
+package br.com.stanleydev.backendboilerplate.auth.service;
+
+import br.com.stanleydev.backendboilerplate.auth.model.PasswordResetToken;
+import br.com.stanleydev.backendboilerplate.auth.repository.PasswordResetTokenRepository;
+import br.com.stanleydev.backendboilerplate.security.OpaqueTokens;
+import br.com.stanleydev.backendboilerplate.user.model.Role;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordResetTokenServiceTest {
+
+    @Mock
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @InjectMocks
+    private PasswordResetTokenService passwordResetTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(passwordResetTokenService, "expirationMs", 3600000L);
+        user = User.builder().id(UUID.randomUUID()).email("reset@example.com").role(Role.ROLE_USER).build();
+    }
+
+    @Test
+    void issue_shouldReplaceOutstandingRequests_andPersistOnlyTheHash() {
+        ArgumentCaptor<PasswordResetToken> captor = ArgumentCaptor.forClass(PasswordResetToken.class);
+
+        String rawToken = passwordResetTokenService.issue(user);
+
+        verify(passwordResetTokenRepository).deleteAllByUserId(user.getId());
+        verify(passwordResetTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getTokenHash()).isEqualTo(OpaqueTokens.hash(rawToken)).isNotEqualTo(rawToken);
+        assertThat(captor.getValue().getExpiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void consume_shouldReject_expiredToken() {
+        PasswordResetToken resetToken = PasswordResetToken.builder()
+                .userId(user.getId())
+                .user(user)
+                .expiresAt(Instant.now().minusSeconds(1))
+                .build();
+        when(passwordResetTokenRepository.findByTokenHashWithUser(OpaqueTokens.hash("raw"))).thenReturn(Optional.of(resetToken));
+
+        assertThrows(BadCredentialsException.class, () -> passwordResetTokenService.consume("raw"));
+        verify(passwordResetTokenRepository, never()).deleteAllByUserId(any());
+    }
+
+    @Test
+    void consume_shouldReturnUser_andClearItsRequests() {
+        PasswordResetToken resetToken = PasswordResetToken.builder()
+                .userId(user.getId())
+                .user(user)
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        when(passwordResetTokenRepository.findByTokenHashWithUser(OpaqueTokens.hash("raw"))).thenReturn(Optional.of(resetToken));
+
+        assertThat(passwordResetTokenService.consume("raw")).isSameAs(user);
+        verify(passwordResetTokenRepository).deleteAllByUserId(user.getId());
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.stanleydev.backendboilerplate.auth.service;
+
+import br.com.stanleydev.backendboilerplate.auth.model.RefreshToken;
+import br.com.stanleydev.backendboilerplate.auth.repository.RefreshTokenRepository;
+import br.com.stanleydev.backendboilerplate.security.OpaqueTokens;
+import br.com.stanleydev.backendboilerplate.user.model.Role;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 604800000L);
+        ReflectionTestUtils.setField(refreshTokenService, "purgeBatchSize", 2);
+        user = User.builder().id(UUID.randomUUID()).email("session@example.com").role(Role.ROLE_USER).build();
+    }
+
+    @Test
+    void issue_shouldPersistOnlyTheHash() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+
+        String rawToken = refreshTokenService.issue(user, "tenant-1");
+
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken saved = captor.getValue();
+        assertThat(saved.getTokenHash()).isEqualTo(OpaqueTokens.hash(rawToken)).isNotEqualTo(rawToken);
+        assertThat(saved.getUserId()).isEqualTo(user.getId());
+        assertThat(saved.getTenantId()).isEqualTo("tenant-1");
+        assertThat(saved.getExpiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void consume_shouldDeleteSession_soTokenIsSingleUse() {
+        RefreshToken session = session(Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHashWithUser(OpaqueTokens.hash("raw"))).thenReturn(Optional.of(session));
+        when(refreshTokenRepository.deleteByIdReturningCount(session.getId())).thenReturn(1, 0);
+
+        assertThat(refreshTokenService.consume("raw")).isSameAs(session);
+        // A concurrent or replayed use finds the row already gone
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume("raw"));
+    }
+
+    @Test
+    void consume_shouldReject_expiredSession() {
+        RefreshToken session = session(Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHashWithUser(OpaqueTokens.hash("raw"))).thenReturn(Optional.of(session));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume("raw"));
+        verify(refreshTokenRepository, never()).deleteByIdReturningCount(any());
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteInBatches_untilABatchIsShort() {
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(2))).thenReturn(2, 2, 1);
+
+        refreshTokenService.purgeExpired();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(Instant.class), eq(2));
+    }
+
+    private RefreshToken session(Instant expiresAt) {
+        return RefreshToken.builder()
+                .id(UUID.randomUUID())
+                .userId(user.getId())
+                .user(user)
+                .tenantId("tenant-1")
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.stanleydev.backendboilerplate.auth.service;
+
+import br.com.stanleydev.backendboilerplate.auth.dto.RegisterRequest;
+import br.com.stanleydev.backendboilerplate.exception.EmailAlreadyExistsException;
+import br.com.stanleydev.backendboilerplate.organization.repository.MembershipRepository;
+import br.com.stanleydev.backendboilerplate.organization.repository.OrganizationRepository;
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sign-up storm against a real database: many concurrent registrations with distinct emails,
+ * then many racing on the same one. Needs the same Postgres as the integration tests.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "application.security.password-hashing.strength=4")
+class RegistrationBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int REGISTRATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OrganizationRepository organizationRepository;
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @AfterEach
+    void tearDown() {
+        membershipRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void signUpStorm_shouldRegisterEveryDistinctEmail() {
+        Benchmarks.concurrentOpsPerSecond("register (distinct emails)", THREADS, REGISTRATIONS_PER_THREAD,
+                index -> authService.register(request("storm-" + index + "@example.com")));
+
+        assertThat(userRepository.count()).isEqualTo(THREADS * REGISTRATIONS_PER_THREAD);
+        assertThat(membershipRepository.count()).isEqualTo(THREADS * REGISTRATIONS_PER_THREAD);
+    }
+
+    @Test
+    void signUpStorm_shouldAcceptOnlyOne_ofRacingDuplicates() {
+        AtomicInteger rejected = new AtomicInteger();
+
+        Benchmarks.concurrentOpsPerSecond("register (same email)", THREADS, 1, index -> {
+            try {
+                return authService.register(request("duplicate@example.com"));
+            } catch (EmailAlreadyExistsException e) {
+                return rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(rejected.get()).isEqualTo(THREADS - 1);
+        assertThat(userRepository.count()).isEqualTo(1);
+        assertThat(organizationRepository.count()).isEqualTo(1);
+    }
+
+    private static RegisterRequest request(String email) {
+        return RegisterRequest.builder()
+                .firstName("Storm")
+                .lastName("User")
+                .email(email)
+                .password("ValidPassword123")
+                .build();
+    }
+}
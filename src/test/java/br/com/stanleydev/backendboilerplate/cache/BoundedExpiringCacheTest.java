@@ -0,0 +1,53 @@
+package br.com.stanleydev.backendboilerplate.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedExpiringCacheTest {
+
+    @Test
+    void get_shouldCountHitsAndMisses() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>("test", 10);
+        cache.put("a", "value", System.currentTimeMillis() + 60_000);
+
+        assertThat(cache.get("a")).isEqualTo("value");
+        assertThat(cache.get("b")).isNull();
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void get_shouldNotReturnExpiredEntries() throws InterruptedException {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>("test", 10);
+        cache.put("a", "value", System.currentTimeMillis() + 20);
+
+        Thread.sleep(40);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_shouldKeepSizeBounded() {
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>("test", 100);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i, System.currentTimeMillis() + 60_000);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void remove_shouldInvalidateEntry() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>("test", 10);
+        cache.put("a", "value", System.currentTimeMillis() + 60_000);
+
+        cache.remove("a");
+
+        assertThat(cache.get("a")).isNull();
+    }
+}
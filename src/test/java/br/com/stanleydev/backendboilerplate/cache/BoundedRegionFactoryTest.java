@@ -0,0 +1,69 @@
+package br.com.stanleydev.backendboilerplate.cache;
+
+import br.com.stanleydev.backendboilerplate.organization.model.Membership;
+import br.com.stanleydev.backendboilerplate.organization.model.Organization;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedRegionFactoryTest {
+
+    @Test
+    void regions_shouldBeBuiltForCachedEntitiesAndNaturalIds() {
+        try (SessionFactory sessionFactory = new Configuration()
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.cache.use_second_level_cache", "true")
+                .setProperty("hibernate.cache.region.factory_class", BoundedRegionFactory.class.getName())
+                .setProperty(BoundedRegionFactory.MAX_ENTRIES, "5")
+                .addAnnotatedClass(Organization.class)
+                .addAnnotatedClass(Membership.class)
+                .addAnnotatedClass(User.class)
+                .buildSessionFactory()) {
+
+            var metamodel = sessionFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+            assertThat(metamodel.getEntityDescriptor(Organization.class).canReadFromCache()).isTrue();
+            assertThat(metamodel.getEntityDescriptor(Organization.class).getNaturalIdCacheAccessStrategy()).isNotNull();
+            assertThat(metamodel.getEntityDescriptor(Membership.class).canReadFromCache()).isTrue();
+            assertThat(metamodel.getEntityDescriptor(User.class).canReadFromCache()).isFalse();
+            // No soft locks in regions whose eviction is not lock-aware
+            assertThat(metamodel.getEntityDescriptor(Organization.class).getCacheAccessStrategy().getAccessType())
+                    .isEqualTo(AccessType.NONSTRICT_READ_WRITE);
+            assertThat(metamodel.getEntityDescriptor(Membership.class).getCacheAccessStrategy().getAccessType())
+                    .isEqualTo(AccessType.NONSTRICT_READ_WRITE);
+        }
+    }
+
+    @Test
+    void regionStorage_shouldBeBoundedAndEvictable() {
+        BoundedRegionFactory.RegionStorage storage = new BoundedRegionFactory.RegionStorage("test-region", 10, 60_000);
+
+        for (int i = 0; i < 100; i++) {
+            storage.putIntoCache(i, "value-" + i, null);
+        }
+        storage.putIntoCache("key", "value", null);
+
+        assertThat(storage.entries().size()).isLessThanOrEqualTo(10);
+        assertThat(storage.getFromCache("key", null)).isEqualTo("value");
+        assertThat(storage.contains("key")).isTrue();
+
+        storage.evictData("key");
+
+        assertThat(storage.contains("key")).isFalse();
+        assertThat(storage.getFromCache("key", null)).isNull();
+    }
+
+    @Test
+    void regionStorage_withoutTtl_shouldKeepEntries() {
+        BoundedRegionFactory.RegionStorage storage = new BoundedRegionFactory.RegionStorage("test-timestamps", Integer.MAX_VALUE, 0);
+
+        storage.putIntoCache("todos", 42L, null);
+
+        assertThat(storage.getFromCache("todos", null)).isEqualTo(42L);
+    }
+}
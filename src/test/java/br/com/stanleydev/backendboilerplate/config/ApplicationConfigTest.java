@@ -0,0 +1,115 @@
+package br.com.stanleydev.backendboilerplate.config;
+
+import br.com.stanleydev.backendboilerplate.security.PrincipalCache;
+import br.com.stanleydev.backendboilerplate.user.model.Role;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationConfigTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PrincipalCache principalCache;
+    private UserDetailsService userDetailsService;
+    private UserDetailsPasswordService userDetailsPasswordService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(true, 100, 60_000);
+        ApplicationConfig applicationConfig = new ApplicationConfig(userRepository, principalCache);
+        userDetailsService = applicationConfig.userDetailsService();
+        userDetailsPasswordService = applicationConfig.userDetailsPasswordService();
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("cached@example.com")
+                .passwordHash("hashed-password")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    @Test
+    void userDetailsService_shouldQueryOnce_whileCached() {
+        when(userRepository.findByEmail("cached@example.com")).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("cached@example.com");
+        for (int i = 0; i < 4; i++) {
+            UserDetails cached = userDetailsService.loadUserByUsername("cached@example.com");
+            assertThat(cached).isEqualTo(user).isNotSameAs(user);
+        }
+
+        verify(userRepository, times(1)).findByEmail("cached@example.com");
+        assertThat(principalCache.getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void userDetailsService_shouldReload_afterInvalidation() {
+        when(userRepository.findByEmail("cached@example.com")).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("cached@example.com");
+        principalCache.removeUserFromCache("cached@example.com");
+        userDetailsService.loadUserByUsername("cached@example.com");
+
+        verify(userRepository, times(2)).findByEmail("cached@example.com");
+    }
+
+    @Test
+    void userDetailsService_shouldHandOutCopies_thatCannotChangeTheCache() {
+        when(userRepository.findByEmail("cached@example.com")).thenReturn(Optional.of(user));
+        userDetailsService.loadUserByUsername("cached@example.com");
+
+        User first = (User) userDetailsService.loadUserByUsername("cached@example.com");
+        first.setRole(Role.ROLE_ADMIN);
+        first.setTokenVersion(7);
+
+        User second = (User) userDetailsService.loadUserByUsername("cached@example.com");
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getRole()).isEqualTo(Role.ROLE_USER);
+        assertThat(second.getTokenVersion()).isZero();
+    }
+
+    @Test
+    void userDetailsService_shouldNotCache_aLoadThatOverlapsAnEviction() {
+        when(userRepository.findByEmail("cached@example.com")).thenAnswer(invocation -> {
+            // A concurrent update commits and evicts while this (now stale) row is being read
+            principalCache.removeUserFromCache("cached@example.com");
+            return Optional.of(user);
+        });
+
+        assertThat(userDetailsService.loadUserByUsername("cached@example.com")).isSameAs(user);
+
+        assertThat(principalCache.getUserFromCache("cached@example.com")).isNull();
+    }
+
+    @Test
+    void userDetailsPasswordService_shouldStoreRehash_andEvictCachedPrincipal() {
+        when(userRepository.findByEmail("cached@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        userDetailsService.loadUserByUsername("cached@example.com");
+
+        userDetailsPasswordService.updatePassword(user, "rehashed-password");
+
+        assertThat(user.getPasswordHash()).isEqualTo("rehashed-password");
+        verify(userRepository).save(user);
+        assertThat(principalCache.getUserFromCache("cached@example.com")).isNull();
+    }
+}
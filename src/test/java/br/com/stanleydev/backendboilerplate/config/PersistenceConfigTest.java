@@ -0,0 +1,72 @@
+package br.com.stanleydev.backendboilerplate.config;
+
+import br.com.stanleydev.backendboilerplate.support.OfflineSessionFactories;
+import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.tenant.TenantFilterActivator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.internal.FilterImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistenceConfigTest {
+
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory;
+
+    @BeforeAll
+    static void buildEntityManagerFactory() {
+        entityManagerFactory = OfflineSessionFactories.tenantAwareEntityManagerFactory();
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("tenantFilterActivator", new TenantFilterActivator());
+        PersistenceConfig.tenantFilterEntityManagerInitializer(beans.getBeanProvider(TenantFilterActivator.class))
+                .postProcessBeforeInitialization(entityManagerFactory, "entityManagerFactory");
+        entityManagerFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        entityManagerFactory.destroy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    // The shared EntityManager opens one of these for every repository call made outside a transaction
+    @Test
+    void entityManagerOpenedOutsideATransaction_shouldBeFilteredToTheCurrentTenant() {
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        TenantContext.setCurrentTenant("tenant-a");
+
+        EntityManager entityManager = entityManagerFactory.getObject().createEntityManager();
+        try {
+            assertThat(boundTenant(entityManager)).isEqualTo("tenant-a");
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Test
+    void entityManagerOpenedOutsideATransaction_shouldMatchNoRows_withoutTenant() {
+        EntityManager entityManager = entityManagerFactory.getObject().createEntityManager();
+        try {
+            // Bound to the no-tenant value rather than left unfiltered
+            assertThat(boundTenant(entityManager)).isEqualTo("");
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static Object boundTenant(EntityManager entityManager) {
+        FilterImpl filter = (FilterImpl) entityManager.unwrap(Session.class).getEnabledFilter(TenantFilterActivator.FILTER_NAME);
+        return filter != null ? filter.getParameter(TenantFilterActivator.TENANT_PARAMETER) : null;
+    }
+}
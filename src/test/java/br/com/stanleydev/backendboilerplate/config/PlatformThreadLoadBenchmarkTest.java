@@ -0,0 +1,20 @@
+package br.com.stanleydev.backendboilerplate.config;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/** Needs the same Postgres as the integration tests, since the full context starts. */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.threads.max=" + SlowDownstreamLoadBenchmark.TOMCAT_THREADS
+})
+@Import(SlowDownstreamLoadBenchmark.SlowDownstreamController.class)
+class PlatformThreadLoadBenchmarkTest extends SlowDownstreamLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.stanleydev.backendboilerplate.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives many concurrent requests at an endpoint that waits on a slow downstream call (like Stripe or
+ * SMTP) and reports throughput and p99 latency. Subclasses pick the thread mode; both cap Tomcat's
+ * platform pool at {@value #TOMCAT_THREADS} threads.
+ */
+abstract class SlowDownstreamLoadBenchmark {
+
+    static final int TOMCAT_THREADS = 50;
+    static final long DOWNSTREAM_DELAY_MS = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(SlowDownstreamLoadBenchmark.class);
+
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 400;
+
+    @LocalServerPort
+    private int port;
+
+    abstract String mode();
+
+    @Test
+    void slowDownstream_throughputAndP99() throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + SlowDownstreamController.PATH)).build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+
+        long start = System.nanoTime();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> statuses = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                inFlight.acquire();
+                statuses.add(callers.submit(() -> {
+                    try {
+                        long sent = System.nanoTime();
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latenciesNanos.add(System.nanoTime() - sent);
+                        return status;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get()).isEqualTo(200);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        List<Long> sorted = new ArrayList<>(latenciesNanos);
+        Collections.sort(sorted);
+        long p99Ms = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1) / 1_000_000;
+        log.info("[benchmark] {} threads, {} ms downstream: {} req/s, p99 {} ms",
+                mode(), DOWNSTREAM_DELAY_MS, String.format("%.1f", REQUESTS / seconds), p99Ms);
+    }
+
+    @RestController
+    static class SlowDownstreamController {
+
+        // Under a public path so no authentication or database work is involved
+        static final String PATH = "/api/webhooks/benchmark/slow-downstream";
+
+        @GetMapping(PATH)
+        String slow() throws InterruptedException {
+            Thread.sleep(DOWNSTREAM_DELAY_MS);
+            return "ok";
+        }
+    }
+}
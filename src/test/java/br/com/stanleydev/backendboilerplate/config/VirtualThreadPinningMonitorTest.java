@@ -0,0 +1,58 @@
+package br.com.stanleydev.backendboilerplate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void shouldRecordPin_whenVirtualThreadBlocksInsideSynchronized() throws Exception {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10), new SimpleMeterRegistry());
+        monitor.start();
+        try {
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    sleep(50);
+                }
+            }).join();
+
+            // JFR streams events in periodic chunks
+            long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+            while (monitor.getPinnedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(monitor.getPinnedCount()).isPositive();
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    void shouldRegisterTimer_inTheApplicationRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> provider = new StaticListableBeanFactory(Map.of("meterRegistry", registry))
+                .getBeanProvider(MeterRegistry.class);
+
+        new VirtualThreadPinningMonitor(20, provider);
+
+        assertThat(registry.find("jvm.threads.virtual.pinned").timer()).isNotNull();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
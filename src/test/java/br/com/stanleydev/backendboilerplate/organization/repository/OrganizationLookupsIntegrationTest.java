@@ -0,0 +1,66 @@
+package br.com.stanleydev.backendboilerplate.organization.repository;
+
+import br.com.stanleydev.backendboilerplate.organization.model.Organization;
+import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls the custom lookups the way the bulkhead interceptor and the Stripe webhook do: with no transaction
+ * around them. Needs the same Postgres as the other integration tests.
+ */
+@SpringBootTest
+class OrganizationLookupsIntegrationTest {
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        organization = organizationRepository.save(Organization.builder()
+                .tenantId(UUID.randomUUID().toString())
+                .name("Lookups")
+                .stripeCustomerId("cus_" + UUID.randomUUID())
+                .subscriptionStatus(SubscriptionStatus.PREMIUM)
+                .ownerUserId(UUID.randomUUID())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        organizationRepository.deleteById(organization.getId());
+    }
+
+    @Test
+    void findByTenantId_shouldFindOrganization_withoutSurroundingTransaction() {
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+
+        assertThat(organizationRepository.findByTenantId(organization.getTenantId()))
+                .get()
+                .extracting(Organization::getSubscriptionStatus)
+                .isEqualTo(SubscriptionStatus.PREMIUM);
+    }
+
+    @Test
+    void findByStripeCustomerId_shouldFindOrganization_withoutSurroundingTransaction() {
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+
+        // The second call resolves through the cached customer-to-id mapping
+        for (int i = 0; i < 2; i++) {
+            assertThat(organizationRepository.findByStripeCustomerId(organization.getStripeCustomerId()))
+                    .get()
+                    .extracting(Organization::getId)
+                    .isEqualTo(organization.getId());
+        }
+    }
+}
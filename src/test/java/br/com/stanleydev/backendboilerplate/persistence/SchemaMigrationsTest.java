@@ -0,0 +1,30 @@
+package br.com.stanleydev.backendboilerplate.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaMigrationsTest {
+
+    @Test
+    void discover_shouldOrderMigrationsByVersion() throws Exception {
+        List<SchemaMigrations.Migration> migrations = SchemaMigrations.discover(List.of(SchemaMigrations.LOCATION));
+
+        assertThat(migrations).extracting(SchemaMigrations.Migration::version).startsWith(1, 2).isSorted();
+        assertThat(migrations.get(0).description()).isEqualTo("baseline");
+        assertThat(migrations).allSatisfy(migration -> assertThat(migration.checksum()).hasSize(32));
+    }
+
+    @Test
+    void discover_shouldLeaveOutOptInMigrations_unlessTheirLocationIsGiven() throws Exception {
+        List<SchemaMigrations.Migration> defaults = SchemaMigrations.discover(List.of(SchemaMigrations.LOCATION));
+        List<SchemaMigrations.Migration> partitioned = SchemaMigrations.discover(List.of(
+                SchemaMigrations.LOCATION, SchemaMigrations.PARTITIONING_LOCATION));
+
+        assertThat(defaults).extracting(SchemaMigrations.Migration::description).doesNotContain("partition tenant tables");
+        assertThat(partitioned).extracting(SchemaMigrations.Migration::description).contains("partition tenant tables");
+        assertThat(partitioned).extracting(SchemaMigrations.Migration::version).isSorted();
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.stanleydev.backendboilerplate.persistence;
+
+import br.com.stanleydev.backendboilerplate.BackendBoilerplateApplication;
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Application startup time with Hibernate maintaining the schema (ddl-auto=update) against
+ * already-applied migrations plus ddl-auto=validate. Needs the same Postgres as the integration tests.
+ */
+@Tag("benchmark")
+class SchemaStartupBenchmarkTest {
+
+    private static final int WARMUP = 1;
+    private static final int ITERATIONS = 5;
+
+    @Test
+    void startup_updateAgainstValidate() {
+        // Makes sure every migration is applied before either mode is timed
+        start("validate", true).close();
+
+        Benchmarks.nanosPerOp("startup, ddl-auto=update", WARMUP, ITERATIONS, () -> {
+            start("update", false).close();
+            return null;
+        });
+        Benchmarks.nanosPerOp("startup, migrations + ddl-auto=validate", WARMUP, ITERATIONS, () -> {
+            start("validate", true).close();
+            return null;
+        });
+    }
+
+    private static ConfigurableApplicationContext start(String ddlAuto, boolean migrations) {
+        return new SpringApplicationBuilder(BackendBoilerplateApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "application.schema.migrations.enabled=" + migrations
+                )
+                .run();
+    }
+}
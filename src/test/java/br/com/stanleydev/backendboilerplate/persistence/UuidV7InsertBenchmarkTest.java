@@ -0,0 +1,75 @@
+package br.com.stanleydev.backendboilerplate.persistence;
+
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a uuid-keyed table with random (v4) and time-ordered (v7) keys.
+ * The table is pre-filled so the primary-key index is large enough for page locality to matter.
+ * Needs the same Postgres as the integration tests.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class UuidV7InsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidV7InsertBenchmarkTest.class);
+
+    private static final int PREFILL_ROWS = 500_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int BATCHES = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS uuid_insert_benchmark (id uuid PRIMARY KEY, payload text)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_insert_benchmark");
+    }
+
+    @Test
+    void insertThroughput_randomV4() {
+        measure("uuid v4 (GenerationType.UUID)", UUID::randomUUID);
+    }
+
+    @Test
+    void insertThroughput_timeOrderedV7() {
+        measure("uuid v7 (@GeneratedUuidV7)", UuidV7::generate);
+    }
+
+    private void measure(String name, Supplier<UUID> ids) {
+        jdbcTemplate.execute("TRUNCATE uuid_insert_benchmark");
+        for (int i = 0; i < PREFILL_ROWS / BATCH_SIZE; i++) {
+            insertBatch(ids);
+        }
+
+        double nanosPerBatch = Benchmarks.nanosPerOp("insert " + BATCH_SIZE + " rows, " + name, 0, BATCHES, () -> insertBatch(ids));
+        Benchmarks.nanosPerOp("generate id, " + name, 100_000, 1_000_000, ids::get);
+        log.info("[benchmark] {}: {} rows/s", name, String.format("%.0f", BATCH_SIZE / (nanosPerBatch / 1_000_000_000.0)));
+    }
+
+    private int[] insertBatch(Supplier<UUID> ids) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            rows.add(new Object[]{ids.get(), "payload"});
+        }
+        return jdbcTemplate.batchUpdate("INSERT INTO uuid_insert_benchmark (id, payload) VALUES (?, ?)", rows);
+    }
+}
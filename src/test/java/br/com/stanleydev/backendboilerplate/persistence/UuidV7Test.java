@@ -0,0 +1,71 @@
+package br.com.stanleydev.backendboilerplate.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void generate_shouldSetVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        // Counter overflow may borrow a few milliseconds ahead
+        assertThat(UuidV7.timestampMillis(uuid)).isBetween(before, after + 100);
+    }
+
+    @Test
+    void generate_shouldBeStrictlyIncreasing_withinTheSameMillisecond() {
+        // More ids than the 12-bit counter holds, so the overflow into the next millisecond is exercised too
+        UUID previous = UuidV7.generate();
+        for (int i = 0; i < 20_000; i++) {
+            UUID next = UuidV7.generate();
+            assertThat(compareUnsigned(next, previous)).isPositive();
+            previous = next;
+        }
+    }
+
+    @Test
+    void generate_shouldNeverRepeat_acrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(UuidV7.generate());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(seen).hasSize(threads * perThread);
+    }
+
+    // Postgres compares uuid values as unsigned bytes; UUID.compareTo uses signed longs
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.stanleydev.backendboilerplate.ratelimit;
+
+import br.com.stanleydev.backendboilerplate.ratelimit.repository.RateLimitWindowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterRateLimiterTest {
+
+    @Mock
+    private RateLimitWindowRepository repository;
+
+    private final AtomicLong clock = new AtomicLong(60_000);
+    private final Map<String, Integer> windows = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        // Behaves like the upsert: adds to the (key, window) row and returns the new total
+        lenient().when(repository.addPermits(anyString(), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            String row = invocation.getArgument(0) + "@" + invocation.getArgument(1);
+            return windows.merge(row, invocation.<Integer>getArgument(3), Integer::sum);
+        });
+    }
+
+    @Test
+    void tryAcquire_shouldShareTheLimit_acrossNodes() {
+        ClusterRateLimiter nodeA = newLimiter(20, 5);
+        ClusterRateLimiter nodeB = newLimiter(20, 5);
+
+        int allowed = 0;
+        for (int i = 0; i < 50; i++) {
+            if (nodeA.tryAcquire("1.2.3.4") == 0) {
+                allowed++;
+            }
+            if (nodeB.tryAcquire("1.2.3.4") == 0) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(20);
+    }
+
+    @Test
+    void tryAcquire_shouldServePrefetchedPermits_withoutARoundTripEach() {
+        ClusterRateLimiter limiter = newLimiter(100, 10);
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(limiter.tryAcquire("key")).isZero();
+        }
+
+        assertThat(limiter.getReservationCount()).isEqualTo(3);
+    }
+
+    @Test
+    void tryAcquire_shouldRejectLocally_untilTheWindowEnds() {
+        ClusterRateLimiter limiter = newLimiter(100, 10);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        assertThat(limiter.tryAcquire("key")).isPositive();
+        assertThat(limiter.tryAcquire("key")).isPositive();
+        // Ten reservations of ten permits, then a single one that found the window used up
+        assertThat(limiter.getReservationCount()).isEqualTo(11);
+
+        clock.addAndGet(60_000);
+        assertThat(limiter.tryAcquire("key")).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldFailOpen_whenDatabaseIsUnavailable() {
+        when(repository.addPermits(anyString(), anyLong(), anyLong(), anyInt()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        ClusterRateLimiter limiter = newLimiter(10, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("key")).isZero();
+        }
+        assertThat(limiter.tryAcquire("key")).isPositive();
+        // The failure is remembered for the rest of the window
+        assertThat(limiter.getReservationCount()).isEqualTo(1);
+
+        clock.addAndGet(60_000);
+        limiter.tryAcquire("key");
+        assertThat(limiter.getReservationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_shouldNotQueueCallersBehindASlowDatabaseCall() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.addPermits(anyString(), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            inFlight.countDown();
+            release.await();
+            throw new DataAccessResourceFailureException("timed out");
+        });
+        ClusterRateLimiter limiter = newLimiter(100, 10);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            results.add(callers.submit(() -> limiter.tryAcquire("key")));
+            assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                results.add(callers.submit(() -> limiter.tryAcquire("key")));
+            }
+            release.countDown();
+            for (Future<Long> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // One database call for all eight waiting requests
+        assertThat(limiter.getReservationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_shouldNotRollBackToAPassedWindow_afterWaitingForAReservation() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            long windowStart = invocation.getArgument(1);
+            if (windowStart == 60_000) {
+                inFlight.countDown();
+                release.await();
+            }
+            String row = invocation.getArgument(0) + "@" + windowStart;
+            synchronized (windows) {
+                return windows.merge(row, invocation.<Integer>getArgument(3), Integer::sum);
+            }
+        }).when(repository).addPermits(anyString(), anyLong(), anyLong(), anyInt());
+        ClusterRateLimiter limiter = newLimiter(100, 10);
+
+        List<Long> results = new ArrayList<>();
+        Thread reserving = Thread.ofPlatform().start(() -> results.add(limiter.tryAcquire("key")));
+        assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread waiting = Thread.ofPlatform().start(() -> limiter.tryAcquire("key"));
+        while (waiting.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+
+        // The next window starts while both are still waiting on the old window's reservation
+        clock.addAndGet(60_000);
+        assertThat(limiter.tryAcquire("key")).isZero();
+        release.countDown();
+        reserving.join(5_000);
+        waiting.join(5_000);
+
+        assertThat(results).containsExactly(0L);
+        // Both were served from the new window's permits instead of resetting it to reserve for the old one
+        assertThat(limiter.getReservationCount()).isEqualTo(2);
+        for (int i = 0; i < 7; i++) {
+            assertThat(limiter.tryAcquire("key")).isZero();
+        }
+        assertThat(limiter.getReservationCount()).isEqualTo(2);
+    }
+
+    private ClusterRateLimiter newLimiter(int capacity, int prefetch) {
+        return new ClusterRateLimiter("test", capacity, Duration.ofMinutes(1), prefetch, 1_000, repository, clock::get);
+    }
+}
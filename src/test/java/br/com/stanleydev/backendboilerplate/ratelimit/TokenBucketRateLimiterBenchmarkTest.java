@@ -0,0 +1,38 @@
+package br.com.stanleydev.backendboilerplate.ratelimit;
+
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Per-check cost of the limiter, for a hot key and for a spread of 10k keys. */
+@Tag("benchmark")
+class TokenBucketRateLimiterBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    @Test
+    void tryAcquire_shouldCostWellUnderAMicrosecond() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("bench", 1_000_000, Duration.ofSeconds(1), 100_000);
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+        int[] next = {0};
+
+        double hotKey = Benchmarks.nanosPerOp("rate limit check (1 key)", WARMUP, ITERATIONS,
+                () -> limiter.tryAcquire("10.0.0.1"));
+        double spread = Benchmarks.nanosPerOp("rate limit check (10k keys)", WARMUP, ITERATIONS,
+                () -> limiter.tryAcquire(keys[next[0]++ % keys.length]));
+        double opsPerSecond = Benchmarks.concurrentOpsPerSecond("rate limit check (10k keys, contended)", 8, ITERATIONS / 8,
+                index -> limiter.tryAcquire(keys[index % keys.length]));
+
+        assertThat(hotKey).isLessThan(1_000);
+        assertThat(spread).isLessThan(1_000);
+        assertThat(opsPerSecond).isPositive();
+    }
+}
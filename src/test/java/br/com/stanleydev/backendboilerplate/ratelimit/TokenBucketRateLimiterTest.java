@@ -0,0 +1,86 @@
+package br.com.stanleydev.backendboilerplate.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_shouldAllowBurst_thenReject() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 3, Duration.ofSeconds(3), 100, clock::get);
+
+        assertThat(limiter.tryAcquire("1.2.3.4")).isZero();
+        assertThat(limiter.tryAcquire("1.2.3.4")).isZero();
+        assertThat(limiter.tryAcquire("1.2.3.4")).isZero();
+
+        long wait = limiter.tryAcquire("1.2.3.4");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+
+        // Other keys have their own bucket
+        assertThat(limiter.tryAcquire("5.6.7.8")).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldRefillOverTime() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 2, Duration.ofSeconds(2), 100, clock::get);
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        assertThat(limiter.tryAcquire("key")).isPositive();
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(limiter.tryAcquire("key")).isZero();
+        assertThat(limiter.tryAcquire("key")).isPositive();
+    }
+
+    @Test
+    void evictIdle_shouldDropOnlyRefilledBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 2, Duration.ofSeconds(2), 100, clock::get);
+        limiter.tryAcquire("idle");
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("busy")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldStayBounded_whenKeysAreNeverIdle() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 1, Duration.ofMinutes(1), 100, clock::get);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void tryAcquire_shouldKeepRefillingBuckets_whenFloodedWithNewKeys() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 2, Duration.ofMinutes(1), 100, clock::get);
+        limiter.tryAcquire("victim@example.com");
+        limiter.tryAcquire("victim@example.com");
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("rotated-" + i);
+        }
+
+        // The exhausted bucket was not dropped and reset, and keys beyond the bound were turned away
+        assertThat(limiter.tryAcquire("victim@example.com")).isPositive();
+        assertThat(limiter.tryAcquire("newcomer")).isPositive();
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertThat(limiter.tryAcquire("newcomer")).isZero();
+    }
+}
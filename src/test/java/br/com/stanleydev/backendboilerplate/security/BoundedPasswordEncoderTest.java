@@ -0,0 +1,111 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import br.com.stanleydev.backendboilerplate.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatch_shouldRunOnDedicatedPool() {
+        encoder = new BoundedPasswordEncoder(4, 1, 10, new SimpleMeterRegistry());
+
+        String hash = encoder.encode("password123");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    void upgradeEncoding_shouldFlagHashes_withDifferentCost() {
+        encoder = new BoundedPasswordEncoder(5, 1, 10, new SimpleMeterRegistry());
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("pw"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+    }
+
+    @Test
+    void encode_shouldFailFast_whenPoolAndQueueAreFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CharSequence blockingPassword = new BlockingCharSequence(started, release);
+
+        // One task holds the only thread, the second fills the queue
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode(blockingPassword));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        while (encoder.getQueueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> encoder.encode("rejected"));
+        assertThat(encoder.getRejectedCount()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("$2a$04$");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("$2a$04$");
+    }
+
+    @Test
+    void calibrateStrength_shouldStayWithinBounds() {
+        assertThat(BoundedPasswordEncoder.calibrateStrength(0, 4, 12)).isEqualTo(4);
+        assertThat(BoundedPasswordEncoder.calibrateStrength(60_000, 4, 6)).isEqualTo(6);
+    }
+
+    /** Blocks the hashing thread the first time BCrypt reads the password. */
+    private record BlockingCharSequence(CountDownLatch started, CountDownLatch release) implements CharSequence {
+
+        @Override
+        public int length() {
+            await();
+            return "blocking".length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return "blocking".charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return "blocking".subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            await();
+            return "blocking";
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.user.model.Role;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = JwtServiceTest.newJwtService(900000L);
+        tokenVersionRegistry = new TokenVersionRegistry(900000L);
+        filter = new JwtAuthenticationFilter(jwtService, new VerifiedTokenCache(false, 0), userDetailsService, tokenVersionRegistry);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("filter@example.com")
+                .firstName("Filter")
+                .lastName("User")
+                .passwordHash("hashed-password")
+                .role(Role.ROLE_ADMIN)
+                .build();
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_shouldAuthenticateFromClaims_withoutUserLookup() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+
+        Authentication authentication = runFilter(jwtService.generateAccessToken(user, "tenant-1"));
+
+        assertThat(authentication).isNotNull();
+        User principal = (User) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(user.getId());
+        assertThat(principal.getEmail()).isEqualTo("filter@example.com");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void statelessMode_shouldReject_revokedTokenVersion() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        String token = jwtService.generateAccessToken(user, "tenant-1");
+
+        tokenVersionRegistry.revoke(user);
+
+        assertThat(runFilter(token)).isNull();
+        // A token issued after the revocation carries the new version and is accepted
+        assertThat(runFilter(jwtService.generateAccessToken(user, "tenant-1"))).isNotNull();
+    }
+
+    @Test
+    void databaseMode_shouldReject_staleTokenVersion() throws Exception {
+        String token = jwtService.generateAccessToken(user, "tenant-1");
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        when(userDetailsService.loadUserByUsername("filter@example.com")).thenReturn(user);
+
+        assertThat(runFilter(token)).isNull();
+    }
+
+    @Test
+    void filter_shouldBindTenant_forTheRestOfTheChainOnly() throws Exception {
+        when(userDetailsService.loadUserByUsername("filter@example.com")).thenReturn(user);
+        String[] seenTenant = new String[1];
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todos");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateAccessToken(user, "tenant-1"));
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seenTenant[0] = TenantContext.getCurrentTenant());
+
+        assertThat(seenTenant[0]).isEqualTo("tenant-1");
+        assertThat(TenantContext.getCurrentTenant()).isNull();
+    }
+
+    private Authentication runFilter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todos");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
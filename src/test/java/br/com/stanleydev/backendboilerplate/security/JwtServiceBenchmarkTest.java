@@ -0,0 +1,57 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import br.com.stanleydev.backendboilerplate.user.model.Role;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the old per-request token handling (four parses, each rebuilding the key and parser)
+ * with a single {@link JwtService#verify(String)} call.
+ */
+@Tag("benchmark")
+class JwtServiceBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void singleVerify_shouldBeCheaperThanLegacyPerRequestParsing() {
+        JwtService jwtService = JwtServiceTest.newJwtService(900000L);
+        User user = User.builder().email("bench@example.com").role(Role.ROLE_USER).build();
+        String token = jwtService.generateAccessToken(user, "tenant-bench");
+
+        double legacy = Benchmarks.nanosPerOp("jwt legacy filter path (4 parses)", WARMUP, ITERATIONS, () -> {
+            String subject = legacyClaims(token).getSubject();
+            String tenantId = legacyClaims(token).get("tenantId", String.class);
+            boolean valid = legacyClaims(token).getSubject().equals(subject)
+                    && !legacyClaims(token).getExpiration().before(new Date());
+            return valid ? tenantId : null;
+        });
+
+        double single = Benchmarks.nanosPerOp("jwt verify (1 parse)", WARMUP, ITERATIONS, () -> {
+            VerifiedToken verified = jwtService.verify(token);
+            return jwtService.isTokenValid(verified, user) ? verified.tenantId() : null;
+        });
+
+        assertThat(single).isLessThan(legacy);
+    }
+
+    // Mirrors the previous JwtService.extractAllClaims, which decoded the key and built a parser on every call
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtServiceTest.TEST_SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import br.com.stanleydev.backendboilerplate.user.model.Role;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtServiceTest {
+
+    // 256-bit Base64 key, only used by tests
+    static final String TEST_SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtb25seS1tdXN0LWJlLTI1Ni1iaXRzLWxvbmc=";
+
+    private JwtService jwtService;
+    private User user;
+
+    static JwtService newJwtService(long expirationMs) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", TEST_SECRET);
+        ReflectionTestUtils.setField(service, "expirationMs", expirationMs);
+        service.init();
+        return service;
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(900000L);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("jwt@example.com")
+                .passwordHash("hashed-password")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    @Test
+    void verify_shouldExposeSubjectTenantAndExpiry_fromSingleParse() {
+        String token = jwtService.generateAccessToken(user, "tenant-1");
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.subject()).isEqualTo("jwt@example.com");
+        assertThat(verified.tenantId()).isEqualTo("tenant-1");
+        assertThat(verified.expiresAt()).isNotNull();
+        assertThat(verified.isExpired()).isFalse();
+        assertThat(jwtService.isTokenValid(verified, user)).isTrue();
+    }
+
+    @Test
+    void verify_shouldReject_tamperedToken() {
+        String token = jwtService.generateAccessToken(user, "tenant-1");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    void verify_shouldReject_expiredToken() {
+        JwtService expiringService = newJwtService(-1000L);
+        String token = expiringService.generateAccessToken(user, "tenant-1");
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    void isTokenValid_shouldFail_forDifferentUser() {
+        VerifiedToken verified = jwtService.verify(jwtService.generateAccessToken(user, "tenant-1"));
+        User other = User.builder().email("other@example.com").role(Role.ROLE_USER).build();
+
+        assertThat(jwtService.isTokenValid(verified, other)).isFalse();
+    }
+}
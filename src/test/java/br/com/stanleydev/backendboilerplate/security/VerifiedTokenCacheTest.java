@@ -0,0 +1,87 @@
+package br.com.stanleydev.backendboilerplate.security;
+
+import br.com.stanleydev.backendboilerplate.user.model.Role;
+import br.com.stanleydev.backendboilerplate.user.model.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerifiedTokenCacheTest {
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = JwtServiceTest.newJwtService(900000L);
+        user = User.builder().email("cache@example.com").role(Role.ROLE_USER).build();
+    }
+
+    @Test
+    void getOrVerify_shouldVerifyOnce_andServeRepeatsFromCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        String token = jwtService.generateAccessToken(user, "tenant-1");
+        AtomicInteger verifications = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            VerifiedToken verified = cache.getOrVerify(token, t -> {
+                verifications.incrementAndGet();
+                return jwtService.verify(t);
+            });
+            assertThat(verified.subject()).isEqualTo("cache@example.com");
+        }
+
+        assertThat(verifications).hasValue(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void getOrVerify_shouldNotServeEntry_pastTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        VerifiedToken alreadyExpired = new VerifiedToken("cache@example.com", "tenant-1", Instant.now().minusSeconds(1), null);
+        cache.getOrVerify("token", t -> alreadyExpired);
+
+        assertThrows(ExpiredJwtException.class, () -> cache.getOrVerify("token", t -> {
+            throw new ExpiredJwtException(null, null, "expired");
+        }));
+        assertThat(cache.getHitCount()).isZero();
+    }
+
+    @Test
+    void getOrVerify_shouldStayBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 50);
+        VerifiedToken verified = new VerifiedToken("cache@example.com", "tenant-1", Instant.now().plusSeconds(60), null);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.getOrVerify("token-" + i, t -> verified);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(50);
+    }
+
+    @Test
+    void getOrVerify_shouldAlwaysDelegate_whenDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 100);
+        String token = jwtService.generateAccessToken(user, "tenant-1");
+        AtomicInteger verifications = new AtomicInteger();
+
+        cache.getOrVerify(token, t -> {
+            verifications.incrementAndGet();
+            return jwtService.verify(t);
+        });
+        cache.getOrVerify(token, t -> {
+            verifications.incrementAndGet();
+            return jwtService.verify(t);
+        });
+
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.stanleydev.backendboilerplate.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Minimal timing harness for the {@code benchmark} test group.
+ * Run with {@code ./mvnw test -Pbenchmark}; these tests are excluded from the default build.
+ */
+public final class Benchmarks {
+
+    private static final Logger log = LoggerFactory.getLogger(Benchmarks.class);
+
+    // Written to on every iteration so the JIT cannot drop the measured work
+    private static volatile Object sink;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs {@code warmup} untimed iterations followed by {@code iterations} timed ones
+     * and returns the average nanoseconds per operation.
+     */
+    public static double nanosPerOp(String name, int warmup, int iterations, Operation operation) {
+        try {
+            for (int i = 0; i < warmup; i++) {
+                sink = operation.run();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink = operation.run();
+            }
+            double nanosPerOp = (System.nanoTime() - start) / (double) iterations;
+            log.info("[benchmark] {}: {} ns/op over {} iterations", name, String.format("%.1f", nanosPerOp), iterations);
+            return nanosPerOp;
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark " + name + " failed", e);
+        }
+    }
+
+    /**
+     * Runs {@code warmup} untimed iterations followed by {@code iterations} measured ones
+     * and returns the average bytes allocated per operation by the calling thread.
+     */
+    public static double bytesPerOp(String name, int warmup, int iterations, Operation operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        try {
+            for (int i = 0; i < warmup; i++) {
+                sink = operation.run();
+            }
+            long start = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < iterations; i++) {
+                sink = operation.run();
+            }
+            double bytesPerOp = (threads.getThreadAllocatedBytes(threadId) - start) / (double) iterations;
+            log.info("[benchmark] {}: {} bytes/op over {} iterations", name, String.format("%.0f", bytesPerOp), iterations);
+            return bytesPerOp;
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark " + name + " failed", e);
+        }
+    }
+
+    /**
+     * Runs {@code operationsPerThread} calls on each of {@code threads} threads, all released together,
+     * and returns the overall operations per second.
+     */
+    public static double concurrentOpsPerSecond(String name, int threads, int operationsPerThread, IndexedOperation operation) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        sink = operation.run(thread * operationsPerThread + i);
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            double opsPerSecond = threads * operationsPerThread / seconds;
+            log.info("[benchmark] {}: {} ops/s with {} threads", name, String.format("%.1f", opsPerSecond), threads);
+            return opsPerSecond;
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark " + name + " failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        Object run() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface IndexedOperation {
+        Object run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.stanleydev.backendboilerplate.support;
+
+import br.com.stanleydev.backendboilerplate.organization.model.Organization;
+import br.com.stanleydev.backendboilerplate.todo.model.Todo;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.Properties;
+
+/**
+ * Builds a Hibernate {@link SessionFactory} for the tenant-aware entities without a database.
+ * Sessions can enable filters and manage properties; anything that needs a connection will fail.
+ */
+public final class OfflineSessionFactories {
+
+    private OfflineSessionFactories() {
+    }
+
+    public static SessionFactory tenantAware() {
+        return new Configuration()
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .addAnnotatedClass(Organization.class)
+                .addAnnotatedClass(Todo.class)
+                .buildSessionFactory();
+    }
+
+    /**
+     * The same entities behind Spring's {@link LocalContainerEntityManagerFactoryBean}, not yet initialized so
+     * tests can configure it first. EntityManagers come from Spring's factory proxy, as in the application.
+     */
+    public static LocalContainerEntityManagerFactoryBean tenantAwareEntityManagerFactory() {
+        Properties properties = new Properties();
+        properties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        properties.setProperty("hibernate.boot.allow_jdbc_metadata_access", "false");
+        properties.setProperty("hibernate.hbm2ddl.auto", "none");
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setPersistenceUnitName("offline");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(Organization.class.getName(), Todo.class.getName()));
+        factoryBean.setJpaProperties(properties);
+        return factoryBean;
+    }
+}
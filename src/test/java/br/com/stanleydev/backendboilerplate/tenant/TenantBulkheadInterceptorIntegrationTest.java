@@ -0,0 +1,69 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.auth.dto.RegisterRequest;
+import br.com.stanleydev.backendboilerplate.organization.repository.MembershipRepository;
+import br.com.stanleydev.backendboilerplate.organization.repository.OrganizationRepository;
+import br.com.stanleydev.backendboilerplate.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A tenant-scoped request through the real interceptor, whose plan lookup goes to the organizations table
+ * outside any transaction. Needs the same Postgres as the other integration tests.
+ */
+@SpringBootTest(properties = "application.tenant.bulkhead.enabled=true")
+@AutoConfigureMockMvc
+class TenantBulkheadInterceptorIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OrganizationRepository organizationRepository;
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @AfterEach
+    void tearDown() {
+        membershipRepository.deleteAll();
+        organizationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void tenantScopedRequest_shouldResolveThePlanAndPassTheBulkhead() throws Exception {
+        RegisterRequest registerRequest = RegisterRequest.builder()
+                .firstName("Bulkhead")
+                .lastName("User")
+                .email("bulkhead-user@example.com")
+                .password("ValidPassword123")
+                .build();
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode auth = objectMapper.readTree(body);
+
+        mockMvc.perform(get("/api/todos")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + auth.get("token").asText()))
+                .andExpect(status().isOk());
+    }
+}
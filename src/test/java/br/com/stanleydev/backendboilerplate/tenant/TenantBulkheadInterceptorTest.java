@@ -0,0 +1,93 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.exception.TooManyRequestsException;
+import br.com.stanleydev.backendboilerplate.organization.service.OrganizationService;
+import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TenantBulkheadInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private TenantBulkheadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        OrganizationService organizationService = mock(OrganizationService.class);
+        when(organizationService.getSubscriptionStatus(anyString())).thenReturn(SubscriptionStatus.FREE);
+        // One permit per tenant and no waiting, so a second request shows whether the first still holds it
+        interceptor = new TenantBulkheadInterceptor(true, 1, 1, 0, 60_000, 100, organizationService,
+                new StaticListableBeanFactory(Map.of("meterRegistry", new SimpleMeterRegistry()))
+                        .getBeanProvider(MeterRegistry.class));
+        TenantContext.setCurrentTenant("tenant-a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void afterCompletion_shouldReleaseThePermit() {
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        interceptor.preHandle(first, response, null);
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, null))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        interceptor.afterCompletion(first, response, null, null);
+
+        assertThatCode(() -> interceptor.preHandle(new MockHttpServletRequest(), response, null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void afterCompletion_shouldKeepThePermit_whileAStreamingResponseIsStillRunning() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        interceptor.preHandle(request, response, null);
+        request.setAsyncStarted(true);
+
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, null))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void asyncDispatch_shouldReuseThePermit_andReleaseItWhenItCompletes() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        interceptor.preHandle(request, response, null);
+        request.setAsyncStarted(true);
+        interceptor.afterCompletion(request, response, null, null);
+
+        // The dispatch that finishes the stream must not need a second permit
+        request.setAsyncStarted(false);
+        assertThatCode(() -> interceptor.preHandle(request, response, null)).doesNotThrowAnyException();
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThatCode(() -> interceptor.preHandle(new MockHttpServletRequest(), response, null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void preHandle_shouldNotLimitRequestsWithoutATenant() {
+        TenantContext.clear();
+
+        assertThatCode(() -> {
+            interceptor.preHandle(new MockHttpServletRequest(), response, null);
+            interceptor.preHandle(new MockHttpServletRequest(), response, null);
+        }).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.exception.TooManyRequestsException;
+import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantBulkheadTest {
+
+    private static final Map<SubscriptionStatus, Integer> LIMITS = Map.of(SubscriptionStatus.FREE, 2, SubscriptionStatus.PREMIUM, 4);
+
+    private final Map<String, SubscriptionStatus> statuses = new HashMap<>();
+    private final AtomicInteger statusLookups = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private TenantBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        bulkhead = new TenantBulkhead(LIMITS, 0, 60_000, 100, tenantId -> {
+            statusLookups.incrementAndGet();
+            return statuses.getOrDefault(tenantId, SubscriptionStatus.FREE);
+        }, registry, clock::get);
+    }
+
+    @Test
+    void acquire_shouldRejectOverTheTenantLimit() {
+        bulkhead.acquire("tenant-a");
+        bulkhead.acquire("tenant-a");
+
+        assertThatThrownBy(() -> bulkhead.acquire("tenant-a"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1L);
+        assertThat(bulkhead.getRejectedCount("tenant-a")).isEqualTo(1);
+        assertThat(registry.get("tenant.bulkhead.rejected").tag("tenant", "tenant-a").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_shouldNotAffectOtherTenants() {
+        bulkhead.acquire("tenant-a");
+        bulkhead.acquire("tenant-a");
+
+        bulkhead.acquire("tenant-b").close();
+
+        assertThat(bulkhead.getRejectedCount("tenant-b")).isZero();
+        assertThat(registry.find("tenant.bulkhead.rejected").tag("tenant", "tenant-b").functionCounter()).isNull();
+    }
+
+    @Test
+    void close_shouldReturnThePermit() {
+        TenantBulkhead.Permit first = bulkhead.acquire("tenant-a");
+        bulkhead.acquire("tenant-a");
+
+        first.close();
+
+        bulkhead.acquire("tenant-a");
+        assertThat(bulkhead.getAvailablePermits("tenant-a")).isZero();
+    }
+
+    @Test
+    void acquire_shouldUseLimitOfSubscriptionStatus() {
+        statuses.put("tenant-p", SubscriptionStatus.PREMIUM);
+
+        for (int i = 0; i < 4; i++) {
+            bulkhead.acquire("tenant-p");
+        }
+
+        assertThatThrownBy(() -> bulkhead.acquire("tenant-p")).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void acquire_shouldApplyStatusChangeAfterTtl() {
+        bulkhead.acquire("tenant-a");
+        statuses.put("tenant-a", SubscriptionStatus.PREMIUM);
+
+        bulkhead.acquire("tenant-a");
+        assertThat(statusLookups).hasValue(1);
+
+        clock.addAndGet(60_001);
+        bulkhead.acquire("tenant-a");
+
+        assertThat(statusLookups).hasValue(2);
+        assertThat(bulkhead.getAvailablePermits("tenant-a")).isEqualTo(3);
+    }
+
+    @Test
+    void acquire_shouldWaitForAPermitWithinMaxWait() throws Exception {
+        TenantBulkhead waiting = new TenantBulkhead(LIMITS, 2_000, 60_000, 100, tenantId -> SubscriptionStatus.FREE, registry);
+        TenantBulkhead.Permit first = waiting.acquire("tenant-a");
+        waiting.acquire("tenant-a");
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            first.close();
+        });
+        releaser.start();
+
+        waiting.acquire("tenant-a");
+        releaser.join();
+        assertThat(waiting.getRejectedCount("tenant-a")).isZero();
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Per-request tenant setup: the previous set/clear pair against a scoped bind. */
+@Tag("benchmark")
+class TenantContextBenchmarkTest {
+
+    private static final int WARMUP = 1_000_000;
+    private static final int ITERATIONS = 10_000_000;
+
+    @Test
+    void bind_shouldCostAboutTheSameAsSetAndClear() {
+        double setAndClear = Benchmarks.nanosPerOp("tenant set/get/clear", WARMUP, ITERATIONS, () -> {
+            TenantContext.setCurrentTenant("tenant-bench");
+            try {
+                return TenantContext.getCurrentTenant();
+            } finally {
+                TenantContext.clear();
+            }
+        });
+
+        double bind = Benchmarks.nanosPerOp("tenant bind/get/close", WARMUP, ITERATIONS, () -> {
+            try (TenantContext.Scope ignored = TenantContext.bind("tenant-bench")) {
+                return TenantContext.getCurrentTenant();
+            }
+        });
+
+        // Both are a few nanoseconds; allow for timer noise rather than assert a strict ordering
+        assertThat(bind).isLessThan(Math.max(setAndClear * 2, 50));
+    }
+}
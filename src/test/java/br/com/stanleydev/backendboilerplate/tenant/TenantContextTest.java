@@ -0,0 +1,57 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantContextTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void bind_shouldRestoreOuterTenant_whenClosed() {
+        try (TenantContext.Scope outer = TenantContext.bind("tenant-a")) {
+            try (TenantContext.Scope inner = TenantContext.bind("tenant-b")) {
+                assertThat(TenantContext.getCurrentTenant()).isEqualTo("tenant-b");
+            }
+            assertThat(TenantContext.getCurrentTenant()).isEqualTo("tenant-a");
+        }
+        assertThat(TenantContext.getCurrentTenant()).isNull();
+    }
+
+    @Test
+    void bind_shouldKeepCurrentTenant_forNullTenant() {
+        try (TenantContext.Scope outer = TenantContext.bind("tenant-a");
+             TenantContext.Scope inner = TenantContext.bind(null)) {
+            assertThat(TenantContext.getCurrentTenant()).isEqualTo("tenant-a");
+        }
+    }
+
+    @Test
+    void taskDecorator_shouldPropagateTenant_toExecutorThreads() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setTaskDecorator(new TenantTaskDecorator());
+        executor.initialize();
+        try {
+            CompletableFuture<String> seen = new CompletableFuture<>();
+            TenantContext.runWithTenant("tenant-a", () -> executor.execute(() -> seen.complete(TenantContext.getCurrentTenant())));
+            assertThat(seen.get(5, TimeUnit.SECONDS)).isEqualTo("tenant-a");
+
+            // The pool thread does not keep the tenant once the task is done
+            CompletableFuture<String> after = new CompletableFuture<>();
+            executor.execute(() -> after.complete(String.valueOf(TenantContext.getCurrentTenant())));
+            assertThat(after.get(5, TimeUnit.SECONDS)).isEqualTo("null");
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import br.com.stanleydev.backendboilerplate.support.OfflineSessionFactories;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filter setup cost per transaction: the previous aspect enabled the filter on every
+ * {@code @Transactional} method, the activator runs once per transaction and skips a session
+ * already bound to the tenant.
+ */
+@Tag("benchmark")
+class TenantFilterActivationBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    // A service method calling two other @Transactional methods
+    private static final int TRANSACTIONAL_CALLS_PER_TRANSACTION = 3;
+
+    @Test
+    void activator_shouldBeCheaperThanPerMethodActivation() {
+        TenantFilterActivator activator = new TenantFilterActivator();
+
+        try (SessionFactory sessionFactory = OfflineSessionFactories.tenantAware();
+             Session session = sessionFactory.openSession();
+             TenantContext.Scope ignored = TenantContext.bind("tenant-bench")) {
+
+            double perMethod = Benchmarks.nanosPerOp("tenant filter per @Transactional method", WARMUP, ITERATIONS, () -> {
+                for (int i = 0; i < TRANSACTIONAL_CALLS_PER_TRANSACTION; i++) {
+                    session.unwrap(Session.class)
+                            .enableFilter(TenantFilterActivator.FILTER_NAME)
+                            .setParameter(TenantFilterActivator.TENANT_PARAMETER, TenantContext.getCurrentTenant());
+                }
+                return session;
+            });
+
+            session.disableFilter(TenantFilterActivator.FILTER_NAME);
+            double perTransaction = Benchmarks.nanosPerOp("tenant filter once per transaction", WARMUP, ITERATIONS, () -> {
+                activator.activate(session);
+                return session;
+            });
+
+            assertThat(perTransaction).isLessThan(perMethod);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.support.OfflineSessionFactories;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.internal.FilterImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantFilterActivatorTest {
+
+    private static SessionFactory sessionFactory;
+
+    private TenantFilterActivator activator;
+    private Session session;
+
+    @BeforeAll
+    static void buildSessionFactory() {
+        sessionFactory = OfflineSessionFactories.tenantAware();
+    }
+
+    @AfterAll
+    static void closeSessionFactory() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        activator = new TenantFilterActivator();
+        session = sessionFactory.openSession();
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+        TenantContext.clear();
+    }
+
+    @Test
+    void activate_shouldEnableFilterForCurrentTenant() {
+        TenantContext.setCurrentTenant("tenant-a");
+
+        activator.activate(session);
+
+        assertThat(boundTenant()).isEqualTo("tenant-a");
+        assertThat(activator.getScopedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void activate_shouldSkipWhenTenantIsUnchanged() {
+        TenantContext.setCurrentTenant("tenant-a");
+
+        activator.activate(session);
+        activator.activate(session);
+
+        assertThat(activator.getScopedCount()).isEqualTo(1);
+        assertThat(activator.getSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void activate_shouldRebindWhenTenantChanges() {
+        TenantContext.setCurrentTenant("tenant-a");
+        activator.activate(session);
+
+        TenantContext.setCurrentTenant("tenant-b");
+        activator.activate(session);
+
+        assertThat(boundTenant()).isEqualTo("tenant-b");
+        assertThat(activator.getScopedCount()).isEqualTo(2);
+        assertThat(activator.getSkippedCount()).isZero();
+    }
+
+    @Test
+    void activate_shouldFailClosedWithoutTenant() {
+        activator.activate(session);
+
+        assertThat(boundTenant()).isEqualTo(TenantFilterActivator.NO_TENANT);
+        assertThat(activator.getUnscopedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void activate_shouldReEnableFilterDisabledOutsideTheActivator() {
+        TenantContext.setCurrentTenant("tenant-a");
+        activator.activate(session);
+        session.disableFilter(TenantFilterActivator.FILTER_NAME);
+
+        activator.activate(session);
+
+        assertThat(boundTenant()).isEqualTo("tenant-a");
+        assertThat(activator.getSkippedCount()).isZero();
+    }
+
+    @Test
+    void registerMetrics_shouldExposeActivationCounters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        activator.registerMetrics(registry);
+        TenantContext.setCurrentTenant("tenant-a");
+
+        activator.activate(session);
+        activator.activate(session);
+
+        assertThat(registry.get("tenant.filter.activations").tag("result", "scoped").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("tenant.filter.activations").tag("result", "skipped").functionCounter().count()).isEqualTo(1);
+    }
+
+    private Object boundTenant() {
+        FilterImpl filter = (FilterImpl) session.getEnabledFilter(TenantFilterActivator.FILTER_NAME);
+        return filter != null ? filter.getParameter(TenantFilterActivator.TENANT_PARAMETER) : null;
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.persistence.UuidV7;
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List and insert latency on a todos-shaped table, plain against hash-partitioned by tenant_id.
+ * Row counts default to 10M and 100M; override with {@code -Dbenchmark.tenant-table.rows=1000000,...}.
+ * Needs the same Postgres as the integration tests and, at 100M rows, tens of GB of disk.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class TenantPartitioningBenchmarkTest {
+
+    private static final String TABLE = "todos_partitioning_benchmark";
+    private static final int TENANTS = 10_000;
+    private static final int PARTITIONS = 16;
+    private static final int QUERIES = 2_000;
+    private static final String TENANT_INDEX = "CREATE INDEX " + TABLE + "_tenant_id_idx ON " + TABLE + " (tenant_id, id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Long> rowCounts() {
+        return Arrays.stream(System.getProperty("benchmark.tenant-table.rows", "10000000,100000000").split(","))
+                .map(String::trim)
+                .map(Long::parseLong);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+    }
+
+    @ParameterizedTest
+    @MethodSource("rowCounts")
+    void unpartitioned(long rows) {
+        createTable(rows);
+        jdbcTemplate.execute(TENANT_INDEX);
+        measure("unpartitioned", rows);
+    }
+
+    @ParameterizedTest
+    @MethodSource("rowCounts")
+    void hashPartitioned(long rows) {
+        createTable(rows);
+        partition();
+        jdbcTemplate.execute(TENANT_INDEX);
+        measure("hash partitioned x" + PARTITIONS, rows);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM " + TABLE + " WHERE tenant_id = 'tenant-42'", String.class));
+        assertThat(plan.split(TABLE + "_p", -1)).hasSize(2);
+    }
+
+    private void createTable(long rows) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (id uuid PRIMARY KEY, tenant_id varchar(255) NOT NULL, " +
+                "task varchar(255) NOT NULL, completed boolean NOT NULL)");
+        jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT gen_random_uuid(), 'tenant-' || (g % " + TENANTS + "), " +
+                "'task ' || g, g % 3 = 0 FROM generate_series(1, ?) g", rows);
+    }
+
+    // The same rebuild as partitioning/V3__partition_tenant_tables.sql, on the benchmark table
+    private void partition() {
+        List<String> statements = new ArrayList<>();
+        statements.add("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_unpartitioned");
+        statements.add("CREATE TABLE " + TABLE + " (LIKE " + TABLE + "_unpartitioned INCLUDING DEFAULTS) PARTITION BY HASH (tenant_id)");
+        for (int remainder = 0; remainder < PARTITIONS; remainder++) {
+            statements.add("CREATE TABLE " + TABLE + "_p" + remainder + " PARTITION OF " + TABLE
+                    + " FOR VALUES WITH (MODULUS " + PARTITIONS + ", REMAINDER " + remainder + ")");
+        }
+        statements.add("INSERT INTO " + TABLE + " SELECT * FROM " + TABLE + "_unpartitioned");
+        statements.add("DROP TABLE " + TABLE + "_unpartitioned");
+        statements.add("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, tenant_id)");
+        jdbcTemplate.execute(String.join("; ", statements));
+    }
+
+    private void measure(String layout, long rows) {
+        jdbcTemplate.execute("VACUUM ANALYZE " + TABLE);
+        String size = String.format("%,d rows", rows);
+
+        Benchmarks.nanosPerOp("list 50 of one tenant, " + layout + ", " + size, QUERIES / 10, QUERIES,
+                () -> jdbcTemplate.queryForList("SELECT id, task, completed FROM " + TABLE +
+                        " WHERE tenant_id = ? ORDER BY id LIMIT 50", randomTenant()));
+
+        Benchmarks.nanosPerOp("insert one row, " + layout + ", " + size, QUERIES / 10, QUERIES,
+                () -> jdbcTemplate.update("INSERT INTO " + TABLE + " VALUES (?, ?, 'task', false)", UuidV7.generate(), randomTenant()));
+    }
+
+    private static String randomTenant() {
+        return "tenant-" + ThreadLocalRandom.current().nextInt(TENANTS);
+    }
+}
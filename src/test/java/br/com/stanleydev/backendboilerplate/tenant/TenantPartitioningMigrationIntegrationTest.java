@@ -0,0 +1,124 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the opt-in partitioning/V3__partition_tenant_tables.sql against a todos table that already has the row-level-security
+ * policy forced on it, as an ordinary (non-BYPASSRLS) role, in a scratch schema.
+ * Needs the same Postgres as the other integration tests.
+ */
+@SpringBootTest
+class TenantPartitioningMigrationIntegrationTest {
+
+    private static final String SCHEMA = "partition_migration_test";
+    private static final String ROLE = "partition_migration_test_owner";
+    private static final int ROWS_PER_TENANT = 500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = dataSource.getConnection();
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        execute("DO $$ BEGIN IF NOT EXISTS (SELECT FROM pg_roles WHERE rolname = '" + ROLE + "') THEN " +
+                "CREATE ROLE " + ROLE + " NOLOGIN NOSUPERUSER NOBYPASSRLS; END IF; END $$");
+        execute("CREATE SCHEMA " + SCHEMA + " AUTHORIZATION " + ROLE);
+        execute("SET ROLE " + ROLE);
+        execute("SET search_path TO " + SCHEMA);
+
+        execute("CREATE TABLE organizations (id uuid PRIMARY KEY, tenant_id varchar(255) NOT NULL UNIQUE)");
+        execute("CREATE TABLE todos (id uuid NOT NULL, tenant_id varchar(255) NOT NULL, task varchar(255) NOT NULL, " +
+                "completed boolean NOT NULL, PRIMARY KEY (id), " +
+                "CONSTRAINT fk_todos_organization FOREIGN KEY (tenant_id) REFERENCES organizations (tenant_id))");
+        execute("INSERT INTO organizations VALUES (gen_random_uuid(), 'tenant-a'), (gen_random_uuid(), 'tenant-b')");
+        execute("INSERT INTO todos SELECT gen_random_uuid(), t, 'task ' || g, false " +
+                "FROM generate_series(1, " + ROWS_PER_TENANT + ") g, (VALUES ('tenant-a'), ('tenant-b')) tenants(t)");
+        execute(String.join("; ", TenantRowLevelSecurity.policyStatements("todos")));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try {
+            execute("RESET ROLE");
+            execute("RESET search_path");
+            execute("RESET " + TenantRowLevelSecurity.SETTING);
+            execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            execute("DROP ROLE IF EXISTS " + ROLE);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    void partitioning_shouldKeepEveryRowAndThePolicyOfAnRlsProtectedTable() throws Exception {
+        // Without app.tenant_id the forced policy hides every row from this role
+        assertThat(count("SELECT count(*) FROM todos")).isZero();
+
+        partition();
+
+        execute("RESET ROLE");
+        assertThat(count("SELECT count(*) FROM todos")).isEqualTo(2L * ROWS_PER_TENANT);
+        assertThat(count("SELECT count(*) FROM pg_class WHERE oid = 'todos'::regclass AND relkind = 'p' " +
+                "AND relrowsecurity AND relforcerowsecurity")).isEqualTo(1);
+        assertThat(count("SELECT count(*) FROM pg_policies WHERE schemaname = '" + SCHEMA + "' " +
+                "AND tablename = 'todos' AND policyname = 'tenant_isolation'")).isEqualTo(1);
+        assertThat(count("SELECT count(*) FROM pg_constraint WHERE conrelid = 'todos'::regclass " +
+                "AND conname = 'fk_todos_organization'")).isEqualTo(1);
+
+        execute("SET ROLE " + ROLE);
+        execute("SELECT set_config('" + TenantRowLevelSecurity.SETTING + "', 'tenant-a', false)");
+        assertThat(count("SELECT count(*) FROM todos")).isEqualTo(ROWS_PER_TENANT);
+    }
+
+    @Test
+    void partitioning_shouldCarryOverIndexesAndForeignKeys_asTheTableHasThem() throws Exception {
+        // As a database first created by ddl-auto has it: no foreign key, and rows of a deleted organization
+        execute("RESET ROLE");
+        execute("ALTER TABLE todos DROP CONSTRAINT fk_todos_organization");
+        execute("INSERT INTO todos VALUES (gen_random_uuid(), 'deleted-tenant', 'orphan', false)");
+        execute("CREATE INDEX idx_todos_tenant_id_completed ON todos (tenant_id, completed)");
+        execute("SET ROLE " + ROLE);
+
+        partition();
+
+        execute("RESET ROLE");
+        assertThat(count("SELECT count(*) FROM todos")).isEqualTo(2L * ROWS_PER_TENANT + 1);
+        assertThat(count("SELECT count(*) FROM pg_constraint WHERE conrelid = 'todos'::regclass AND contype = 'f'")).isZero();
+        assertThat(count("SELECT count(*) FROM pg_indexes WHERE schemaname = '" + SCHEMA + "' AND tablename = 'todos' " +
+                "AND indexname = 'idx_todos_tenant_id_completed'")).isEqualTo(1);
+    }
+
+    private void partition() throws Exception {
+        execute(new ClassPathResource("db/migration/partitioning/V3__partition_tenant_tables.sql").getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TenantRowLevelSecurityTest {
+
+    private final Session session = mock(Session.class);
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void bind_shouldSetTenantOnConnection() throws Exception {
+        TenantContext.setCurrentTenant("tenant-a");
+
+        PreparedStatement statement = runBind();
+
+        verify(statement).setString(1, "tenant-a");
+        verify(statement).execute();
+    }
+
+    @Test
+    void bind_shouldSetEmptyTenantWhenNoneIsBound() throws Exception {
+        PreparedStatement statement = runBind();
+
+        verify(statement).setString(1, TenantFilterActivator.NO_TENANT);
+    }
+
+    @Test
+    void bind_shouldDoNothingWhenDisabled() {
+        new TenantRowLevelSecurity(false, mock(EntityManagerFactory.class), mock(JdbcTemplate.class)).bind(session);
+
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    void policyStatements_shouldForcePolicyOnTable() {
+        assertThat(TenantRowLevelSecurity.policyStatements("todos"))
+                .contains("ALTER TABLE todos FORCE ROW LEVEL SECURITY")
+                .last().asString()
+                .startsWith("CREATE POLICY tenant_isolation ON todos")
+                .contains("current_setting('app.tenant_id', true)");
+    }
+
+    private PreparedStatement runBind() throws Exception {
+        new TenantRowLevelSecurity(true, mock(EntityManagerFactory.class), mock(JdbcTemplate.class)).bind(session);
+
+        ArgumentCaptor<Work> work = ArgumentCaptor.forClass(Work.class);
+        verify(session).doWork(work.capture());
+
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        work.getValue().execute(connection);
+        return statement;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.stanleydev.backendboilerplate.tenant;
+
+import br.com.stanleydev.backendboilerplate.support.OfflineSessionFactories;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantTablesTest {
+
+    @Test
+    void of_shouldListTablesOfTenantAwareEntities() {
+        try (SessionFactory sessionFactory = OfflineSessionFactories.tenantAware()) {
+            assertThat(TenantTables.of(sessionFactory)).containsExactly("todos");
+        }
+    }
+}
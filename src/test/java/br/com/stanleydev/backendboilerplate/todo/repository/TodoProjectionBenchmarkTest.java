@@ -0,0 +1,97 @@
+package br.com.stanleydev.backendboilerplate.todo.repository;
+
+import br.com.stanleydev.backendboilerplate.organization.model.Organization;
+import br.com.stanleydev.backendboilerplate.organization.repository.OrganizationRepository;
+import br.com.stanleydev.backendboilerplate.persistence.UuidV7;
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoResponse;
+import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing a 10k-todo tenant through managed entities mapped with {@code TodoResponse::fromEntity}
+ * against the {@code TodoResponse} projection, both in a read-only transaction: latency and bytes
+ * allocated per listing. Needs the same Postgres as the integration tests.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class TodoProjectionBenchmarkTest {
+
+    private static final int TODOS = 10_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String tenantId;
+    private TenantContext.Scope tenantScope;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "projection-benchmark-" + UUID.randomUUID();
+        organizationRepository.save(Organization.builder()
+                .tenantId(tenantId)
+                .name("Projection benchmark")
+                .ownerUserId(UUID.randomUUID())
+                .subscriptionStatus(SubscriptionStatus.FREE)
+                .build());
+        jdbcTemplate.batchUpdate("INSERT INTO todos (id, tenant_id, task, completed) VALUES (?, ?, ?, ?)",
+                IntStream.range(0, TODOS).mapToObj(i -> new Object[]{UuidV7.generate(), tenantId, "task " + i, i % 3 == 0}).toList());
+
+        tenantScope = TenantContext.bind(tenantId);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantScope.close();
+        jdbcTemplate.update("DELETE FROM todos WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM organizations WHERE tenant_id = ?", tenantId);
+    }
+
+    @Test
+    void entitiesAgainstProjection() {
+        Supplier<List<TodoResponse>> entities = () -> readOnly.execute(status ->
+                todoRepository.findAll().stream().map(TodoResponse::fromEntity).toList());
+        Supplier<List<TodoResponse>> projection = () -> readOnly.execute(status -> todoRepository.findAllResponses());
+
+        assertThat(entities.get()).hasSize(TODOS);
+        assertThat(projection.get()).hasSize(TODOS);
+
+        double entityNanos = Benchmarks.nanosPerOp("list " + TODOS + " todos, entities", WARMUP, ITERATIONS, entities::get);
+        double projectionNanos = Benchmarks.nanosPerOp("list " + TODOS + " todos, projection", WARMUP, ITERATIONS, projection::get);
+        double entityBytes = Benchmarks.bytesPerOp("list " + TODOS + " todos, entities", WARMUP, ITERATIONS, entities::get);
+        double projectionBytes = Benchmarks.bytesPerOp("list " + TODOS + " todos, projection", WARMUP, ITERATIONS, projection::get);
+
+        assertThat(projectionBytes).isLessThan(entityBytes);
+        assertThat(projectionNanos).isLessThan(entityNanos);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.stanleydev.backendboilerplate.todo.repository;
+
+import br.com.stanleydev.backendboilerplate.support.OfflineSessionFactories;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoResponse;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.sqm.tree.select.SqmDynamicInstantiation;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.query.spi.SqmQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoRepositoryTest {
+
+    @Test
+    void responseProjection_shouldSelectOnlyResponseColumnsIntoTheDto() {
+        try (SessionFactory sessionFactory = OfflineSessionFactories.tenantAware();
+             Session session = sessionFactory.openSession()) {
+            SqmQuery query = (SqmQuery) session.createQuery(TodoRepository.SELECT_RESPONSE
+                            + " WHERE (t.createdAt, t.id) > (:afterCreatedAt, :afterId) ORDER BY t.createdAt, t.id", TodoResponse.class)
+                    .setParameter("afterCreatedAt", Instant.now())
+                    .setParameter("afterId", UUID.randomUUID());
+
+            SqmSelectStatement<?> statement = (SqmSelectStatement<?>) query.getSqmStatement();
+            Object selection = statement.getQuerySpec().getSelectClause().getSelections().get(0).getSelectableNode();
+
+            assertThat(selection).isInstanceOf(SqmDynamicInstantiation.class);
+            SqmDynamicInstantiation<?> instantiation = (SqmDynamicInstantiation<?>) selection;
+            assertThat(instantiation.getJavaType()).isEqualTo(TodoResponse.class);
+            assertThat(instantiation.getArguments()).hasSize(4);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.organization.model.Organization;
+import br.com.stanleydev.backendboilerplate.organization.repository.OrganizationRepository;
+import br.com.stanleydev.backendboilerplate.support.Benchmarks;
+import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.todo.dto.CreateTodoRequest;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoOperation;
+import br.com.stanleydev.backendboilerplate.user.model.SubscriptionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writing 1000 todos as 1000 single-item calls (one transaction and round-trip each) against one
+ * bulk call (one transaction, JDBC-batched inserts). Measured at the service, so HTTP overhead per
+ * call is not included and the real gap is larger. Needs the same Postgres as the integration tests.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class TodoBulkBenchmarkTest {
+
+    private static final int TODOS = 1_000;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String tenantId;
+    private TenantContext.Scope tenantScope;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = "bulk-benchmark-" + UUID.randomUUID();
+        organizationRepository.save(Organization.builder()
+                .tenantId(tenantId)
+                .name("Bulk benchmark")
+                .ownerUserId(UUID.randomUUID())
+                .subscriptionStatus(SubscriptionStatus.FREE)
+                .build());
+        tenantScope = TenantContext.bind(tenantId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantScope.close();
+        jdbcTemplate.update("DELETE FROM todos WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM organizations WHERE tenant_id = ?", tenantId);
+    }
+
+    @Test
+    void singleCallsAgainstOneBulkCall() {
+        CreateTodoRequest request = new CreateTodoRequest();
+        request.setTask("single");
+        List<TodoOperation> operations = IntStream.range(0, TODOS)
+                .mapToObj(i -> TodoOperation.builder().type(TodoOperation.Type.CREATE).task("bulk " + i).build())
+                .toList();
+
+        double singleNanos = Benchmarks.nanosPerOp(TODOS + " single createTodo calls", 1, ROUNDS, () -> {
+            for (int i = 0; i < TODOS; i++) {
+                todoService.createTodo(request);
+            }
+            return null;
+        });
+        double bulkNanos = Benchmarks.nanosPerOp("one bulk call with " + TODOS + " creates", 1, ROUNDS,
+                () -> todoService.applyBulk(operations));
+
+        Integer stamped = jdbcTemplate.queryForObject("SELECT count(*) FROM todos WHERE tenant_id = ?", Integer.class, tenantId);
+        assertThat(stamped).isEqualTo(2 * (ROUNDS + 1) * TODOS);
+        assertThat(bulkNanos).isLessThan(singleNanos);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.persistence.UuidV7;
+import br.com.stanleydev.backendboilerplate.todo.model.Todo;
+import br.com.stanleydev.backendboilerplate.todo.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TodoExportServiceTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int TRACKED = 1_000;
+
+    private TodoRepository todoRepository;
+    private EntityManager entityManager;
+    private TodoExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository = mock(TodoRepository.class);
+        entityManager = mock(EntityManager.class);
+        exportService = new TodoExportService(todoRepository, mock(PlatformTransactionManager.class), new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        ReflectionTestUtils.setField(exportService, "entityManager", entityManager);
+    }
+
+    @Test
+    void export_shouldWriteGzippedNdjsonAndDetachEveryRow() throws Exception {
+        List<Todo> todos = IntStream.range(0, 3).mapToObj(TodoExportServiceTest::todo).toList();
+        when(todoRepository.streamAllByOrderByCreatedAtAscIdAsc()).thenReturn(todos.stream());
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        exportService.export(true).writeTo(body);
+
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(ndjson.split("\n")).hasSize(3);
+        assertThat(ndjson).startsWith("{\"id\":\"" + todos.get(0).getId() + "\",\"task\":\"task 0\",\"completed\":false,"
+                + "\"createdAt\":\"2024-05-01T10:15:30Z\"}\n");
+        todos.forEach(todo -> verify(entityManager).detach(todo));
+    }
+
+    /**
+     * Exports a million lazily generated rows and checks that rows already written can be collected
+     * while the export is still running, so memory stays flat however many rows the tenant has.
+     */
+    @Test
+    void writeNdjson_shouldNotRetainWrittenRows() throws Exception {
+        List<WeakReference<Todo>> earlyRows = new ArrayList<>(TRACKED);
+        int[] released = {0};
+        int[] collectedMidway = {-1};
+        Stream<Todo> todos = IntStream.range(0, ROWS).mapToObj(i -> {
+            Todo todo = todo(i);
+            if (i < TRACKED) {
+                earlyRows.add(new WeakReference<>(todo));
+            }
+            return todo;
+        });
+        CountingOutputStream out = new CountingOutputStream();
+
+        long written = exportService.writeNdjson(todos, todo -> {
+            if (++released[0] == ROWS / 2) {
+                collectedMidway[0] = collected(earlyRows);
+            }
+        }, out);
+
+        assertThat(written).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS);
+        assertThat(collectedMidway[0]).isEqualTo(TRACKED);
+    }
+
+    private static int collected(List<WeakReference<Todo>> references) {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            System.gc();
+            if (references.stream().allMatch(reference -> reference.get() == null)) {
+                break;
+            }
+        }
+        return (int) references.stream().filter(reference -> reference.get() == null).count();
+    }
+
+    private static Todo todo(int i) {
+        Todo todo = new Todo();
+        todo.setId(UuidV7.generate());
+        todo.setTask("task " + i);
+        todo.setCreatedAt(Instant.parse("2024-05-01T10:15:30Z").plusMillis(i));
+        return todo;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoImportParserTest {
+
+    private final TodoImportParser parser = new TodoImportParser(new ObjectMapper(), 40);
+
+    @Test
+    void parse_shouldReadCsvColumnsByHeaderAndReportBadRows() throws IOException {
+        String csv = String.join("\r\n",
+                "completed,task",
+                "true,\"Buy milk, eggs\"",
+                ",\"Say \"\"hi\"\"\"",
+                "",
+                "maybe,Walk dog",
+                "false,",
+                "false,\"unclosed",
+                "");
+
+        List<String> events = parse(csv, TodoImportFormat.CSV);
+
+        assertThat(events).containsExactly(
+                "2 row Buy milk, eggs true",
+                "3 row Say \"hi\" false",
+                "5 invalid completed must be true or false",
+                "6 invalid task is required",
+                "7 invalid unbalanced quotes");
+    }
+
+    @Test
+    void parse_shouldRequireTaskColumnInCsvHeader() throws IOException {
+        assertThat(parse("title,done\nx,true\n", TodoImportFormat.CSV))
+                .containsExactly("1 invalid CSV header must contain a task column");
+    }
+
+    @Test
+    void parse_shouldReadNdjsonAndSkipOverlongLines() throws IOException {
+        String ndjson = """
+                {"task":"one","completed":true}
+                {"task":"two"}
+                not json
+                {"task":"three","completed":"yes"}
+                {"task":"this line is much longer than the forty character limit"}
+                ["task"]
+                {"task":"four"}""";
+
+        List<String> events = parse(ndjson, TodoImportFormat.NDJSON);
+
+        assertThat(events).containsExactly(
+                "1 row one true",
+                "2 row two false",
+                "3 invalid malformed JSON",
+                "4 invalid completed must be true or false",
+                "5 invalid line is longer than 40 characters",
+                "6 invalid each line must be a JSON object",
+                "7 row four false");
+    }
+
+    private List<String> parse(String body, TodoImportFormat format) throws IOException {
+        List<String> events = new ArrayList<>();
+        parser.parse(new StringReader(body), format, new TodoImportParser.RowHandler() {
+            @Override
+            public void row(long line, String task, boolean completed) {
+                events.add(line + " row " + task + " " + completed);
+            }
+
+            @Override
+            public void invalid(long line, String message) {
+                events.add(line + " invalid " + message);
+            }
+        });
+        return events;
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.exception.ResourceNotFoundException;
+import br.com.stanleydev.backendboilerplate.tenant.TenantContext;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoImportResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TodoImportServiceTest {
+
+    private static final String TENANT = "tenant-a";
+
+    private JdbcTemplate jdbcTemplate;
+    private TodoImportService importService;
+    private TenantContext.Scope tenantScope;
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final List<Object[]> insertedRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            batchSizes.add(rows.size());
+            insertedRows.addAll(rows);
+            return new int[rows.size()];
+        });
+        importService = new TodoImportService(jdbcTemplate, mock(PlatformTransactionManager.class), new ObjectMapper(),
+                100, 1024, 1024 * 1024, 1, 1, 60_000);
+        tenantScope = TenantContext.bind(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenantScope.close();
+        importService.shutdown();
+    }
+
+    @Test
+    void importNow_shouldInsertInFixedSizeBatchesStampedWithTenant() {
+        TodoImportResponse summary = importService.importNow(ndjson(250, 3), TodoImportFormat.NDJSON);
+
+        assertThat(summary.getStatus()).isEqualTo(TodoImportResponse.Status.COMPLETED);
+        assertThat(summary.getImported()).isEqualTo(247);
+        assertThat(summary.getRejected()).isEqualTo(3);
+        assertThat(summary.getErrors()).hasSize(3);
+        assertThat(batchSizes).containsExactly(100, 100, 47);
+        assertThat(insertedRows).allSatisfy(row -> assertThat(row[1]).isEqualTo(TENANT));
+    }
+
+    @Test
+    void importNow_shouldReportFailureAndKeepCommittedBatches() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[100])
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        TodoImportResponse summary = importService.importNow(ndjson(250, 0), TodoImportFormat.NDJSON);
+
+        assertThat(summary.getStatus()).isEqualTo(TodoImportResponse.Status.FAILED);
+        assertThat(summary.getImported()).isEqualTo(100);
+        assertThat(summary.getMessage()).isNotBlank();
+    }
+
+    @Test
+    void submit_shouldRunInBackgroundAndBePollableOnlyByItsTenant() throws Exception {
+        TodoImportResponse queued = importService.submit(ndjson(250, 0), TodoImportFormat.NDJSON);
+        UUID id = queued.getId();
+        assertThat(id).isNotNull();
+
+        TodoImportResponse polled = importService.getJob(id);
+        for (int i = 0; i < 500 && polled.getStatus() != TodoImportResponse.Status.COMPLETED; i++) {
+            Thread.sleep(10);
+            polled = importService.getJob(id);
+        }
+
+        assertThat(polled.getStatus()).isEqualTo(TodoImportResponse.Status.COMPLETED);
+        assertThat(polled.getImported()).isEqualTo(250);
+        TenantContext.runWithTenant("tenant-b",
+                () -> assertThrows(ResourceNotFoundException.class, () -> importService.getJob(id)));
+    }
+
+    @Test
+    void runsInBackground_shouldApplyToLargeAndUnsizedUploads() {
+        assertThat(importService.runsInBackground(1024L)).isFalse();
+        assertThat(importService.runsInBackground(1025L)).isTrue();
+        assertThat(importService.runsInBackground(null)).isTrue();
+    }
+
+    private static InputStream ndjson(int rows, int invalid) {
+        String body = IntStream.range(0, rows)
+                .mapToObj(i -> i < invalid ? "{\"task\":\"\"}" : "{\"task\":\"task " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.stanleydev.backendboilerplate.todo.service;
+
+import br.com.stanleydev.backendboilerplate.exception.BadRequestException;
+import br.com.stanleydev.backendboilerplate.persistence.UuidV7;
+import br.com.stanleydev.backendboilerplate.todo.dto.BulkTodoResponse;
+import br.com.stanleydev.backendboilerplate.todo.dto.BulkTodoResult;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoOperation;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoPageResponse;
+import br.com.stanleydev.backendboilerplate.todo.dto.TodoResponse;
+import br.com.stanleydev.backendboilerplate.todo.model.Todo;
+import br.com.stanleydev.backendboilerplate.todo.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoServiceTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @InjectMocks
+    private TodoService todoService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(todoService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(todoService, "maxPageSize", 5);
+        ReflectionTestUtils.setField(todoService, "maxBulkOperations", 10);
+    }
+
+    @Test
+    void getTodoPage_shouldReturnCursorWhenMoreRowsFollow() {
+        List<TodoResponse> todos = responses(3);
+        when(todoRepository.findResponsePage(Limit.of(3))).thenReturn(todos);
+
+        TodoPageResponse page = todoService.getTodoPage(null, null);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(TodoCursor.decode(page.getNextCursor()))
+                .isEqualTo(new TodoCursor(todos.get(1).getCreatedAt(), todos.get(1).getId()));
+    }
+
+    @Test
+    void getTodoPage_shouldContinueAfterCursor() {
+        Instant lastCreatedAt = Instant.parse("2024-05-01T10:15:30.123456Z");
+        UUID lastId = UUID.randomUUID();
+        when(todoRepository.findResponsePageAfter(lastCreatedAt, lastId, Limit.of(3))).thenReturn(responses(1));
+
+        TodoPageResponse page = todoService.getTodoPage(TodoCursor.encode(lastCreatedAt, lastId), null);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getTodoPage_shouldRejectSizeAboveMax() {
+        assertThrows(BadRequestException.class, () -> todoService.getTodoPage(null, 6));
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void getTodoPage_shouldRejectMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> todoService.getTodoPage("not-a-cursor", null));
+    }
+
+    @Test
+    void getTodoPage_shouldRejectIdOnlyCursorsFromBeforeTheCreationTimeKey() {
+        String idOnlyCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[16]);
+
+        assertThrows(BadRequestException.class, () -> todoService.getTodoPage(idOnlyCursor, null));
+    }
+
+    @Test
+    void getAllTodos_shouldRequireOptIn() {
+        assertThrows(BadRequestException.class, () -> todoService.getAllTodos());
+
+        ReflectionTestUtils.setField(todoService, "unpagedEnabled", true);
+        when(todoRepository.findAllResponses()).thenReturn(responses(3));
+
+        assertThat(todoService.getAllTodos()).hasSize(3);
+    }
+
+    @Test
+    void applyBulk_shouldLoadExistingRowsOnceAndReportEachOperation() {
+        List<Todo> todos = todos(2);
+        Todo toUpdate = todos.get(0);
+        Todo toDelete = todos.get(1);
+        UUID unknownId = UuidV7.generate();
+        when(todoRepository.findAllById(Set.of(toUpdate.getId(), toDelete.getId(), unknownId))).thenReturn(todos);
+        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> {
+            Todo saved = invocation.getArgument(0);
+            saved.setId(UuidV7.generate());
+            return saved;
+        });
+
+        BulkTodoResponse response = todoService.applyBulk(List.of(
+                TodoOperation.builder().type(TodoOperation.Type.CREATE).task("new").build(),
+                TodoOperation.builder().type(TodoOperation.Type.UPDATE).id(toUpdate.getId()).completed(true).build(),
+                TodoOperation.builder().type(TodoOperation.Type.DELETE).id(toDelete.getId()).build(),
+                TodoOperation.builder().type(TodoOperation.Type.DELETE).id(toDelete.getId()).build(),
+                TodoOperation.builder().type(TodoOperation.Type.UPDATE).id(unknownId).completed(true).build(),
+                TodoOperation.builder().type(TodoOperation.Type.CREATE).build()
+        ));
+
+        assertThat(response.getResults()).extracting(BulkTodoResult::getStatus).containsExactly(
+                BulkTodoResult.Status.CREATED, BulkTodoResult.Status.UPDATED, BulkTodoResult.Status.DELETED,
+                BulkTodoResult.Status.NOT_FOUND, BulkTodoResult.Status.NOT_FOUND, BulkTodoResult.Status.INVALID);
+        assertThat(response.getResults().get(0).getTodo().getTask()).isEqualTo("new");
+        assertThat(toUpdate.isCompleted()).isTrue();
+        verify(todoRepository, times(1)).findAllById(any());
+        verify(todoRepository).delete(toDelete);
+        verify(todoRepository, times(1)).save(any(Todo.class));
+    }
+
+    @Test
+    void applyBulk_shouldRejectTooManyOperations() {
+        List<TodoOperation> operations = Collections.nCopies(11, TodoOperation.builder().type(TodoOperation.Type.CREATE).task("t").build());
+
+        assertThrows(BadRequestException.class, () -> todoService.applyBulk(operations));
+        verifyNoInteractions(todoRepository);
+    }
+
+    private static List<TodoResponse> responses(int count) {
+        return todos(count).stream().map(TodoResponse::fromEntity).toList();
+    }
+
+    private static List<Todo> todos(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            Todo todo = new Todo();
+            todo.setId(UuidV7.generate());
+            todo.setTask("task " + i);
+            todo.setCreatedAt(Instant.parse("2024-05-01T10:15:30Z").plusMillis(i));
+            return todo;
+        }).toList();
+    }
+}